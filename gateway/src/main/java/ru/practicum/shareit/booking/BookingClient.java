@@ -3,26 +3,31 @@ package ru.practicum.shareit.booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
+@Profile("!reactive")
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder,
+                         ResponseCache responseCache) {
         super(builder
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                .build()
+                .build(),
+                responseCache
         );
     }
 
@@ -34,6 +39,10 @@ public class BookingClient extends BaseClient {
         return post("", userId, bookingDtoRequest);
     }
 
+    public ResponseEntity<Object> createBookings(List<BookingDtoRequest> bookingDtoRequests, Long userId) {
+        return post("/batch", userId, bookingDtoRequests);
+    }
+
     public ResponseEntity<Object> changeState(Long bookingId, Boolean approved, Long userId) {
         Map<String, Object> parameters = Map.of(
                 "approved", approved
@@ -41,22 +50,37 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getOwnBookings(BookingState state, Long userId, int from, int size) {
+    public ResponseEntity<Object> changeStates(List<Long> bookingIds, Boolean approved, Long userId) {
         Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
+                "approved", approved
         );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        return patch("/owner/batch?approved={approved}", userId, parameters, bookingIds);
     }
 
-    public ResponseEntity<Object> getOwnItemsBookings(BookingState state, Long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getOwnBookings(BookingState state, Long userId, int from, int size, String cursor) {
+        return get(withCursor("?state={state}&from={from}&size={size}", cursor), userId,
+                listParameters(state, from, size, cursor));
+    }
+
+    public ResponseEntity<Object> getOwnItemsBookings(BookingState state, Long userId, int from, int size,
+                                                      String cursor) {
+        return get(withCursor("/owner?state={state}&from={from}&size={size}", cursor), userId,
+                listParameters(state, from, size, cursor));
+    }
+
+    private static String withCursor(String path, String cursor) {
+        return cursor == null ? path : path + "&cursor={cursor}";
+    }
+
+    private static Map<String, Object> listParameters(BookingState state, int from, int size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 
 }
@@ -2,43 +2,49 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingState;
-import ru.practicum.shareit.exception.BookingException;
-import ru.practicum.shareit.exception.BookingStatusException;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
+@Profile("!reactive")
 public class BookingController {
 	private static final String USER_HEADER = "X-Sharer-User-Id";
+	private static final int MAX_BATCH_SIZE = 100;
 	private final BookingClient bookingClient;
 
 	@PostMapping
 	public ResponseEntity<Object> createBooking(@Valid @RequestBody BookingDtoRequest bookingDtoRequest,
 												@RequestHeader(USER_HEADER) Long userId) {
-		if (bookingDtoRequest.getStart() == null || bookingDtoRequest.getEnd() == null) {
-			throw new BookingException("Начало и окончание бронирования не должны быть пустыми");
-		}
-		if (bookingDtoRequest.getStart().isEqual(bookingDtoRequest.getEnd())) {
-			throw new BookingException("Начало и окончание бронирования одинаковы");
-		}
-		if (bookingDtoRequest.getEnd().isBefore(bookingDtoRequest.getStart())) {
-			throw new BookingException("Окончание бронирования раньше начала бронирования");
-		}
+		BookingValidator.validateDates(bookingDtoRequest);
 		log.info("Booking Controller: Бронирование создано. ID пользователя {}", userId);
 		return bookingClient.createBooking(bookingDtoRequest, userId);
 	}
 
+	@PostMapping(value = "/batch")
+	public ResponseEntity<Object> createBookings(@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE, message = "Batch size: from 1 to " + MAX_BATCH_SIZE)
+												 List<@NotNull @Valid BookingDtoRequest> bookingDtoRequests,
+												 @RequestHeader(USER_HEADER) Long userId) {
+		BookingValidator.validateBatch(bookingDtoRequests);
+		log.info("Booking Controller: Пакетное создание бронирований. ID пользователя {}, количество {}",
+				userId, bookingDtoRequests.size());
+		return bookingClient.createBookings(bookingDtoRequests, userId);
+	}
+
 	@PatchMapping(value = "/{bookingId}")
 	public ResponseEntity<Object> changeState(@PathVariable Long bookingId,
 											  @RequestParam Boolean approved,
@@ -48,6 +54,16 @@ public class BookingController {
 		return bookingClient.changeState(bookingId, approved, userId);
 	}
 
+	@PatchMapping(value = "/owner/batch")
+	public ResponseEntity<Object> changeStates(@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE, message = "Batch size: from 1 to " + MAX_BATCH_SIZE)
+											   List<Long> bookingIds,
+											   @RequestParam Boolean approved,
+											   @RequestHeader(USER_HEADER) Long userId) {
+		log.info("Booking Controller: Пакетное изменение состояния бронирований. ID пользователя {}, количество {}",
+				userId, bookingIds.size());
+		return bookingClient.changeStates(bookingIds, approved, userId);
+	}
+
 	@GetMapping(value = "/{bookingId}")
 	public ResponseEntity<Object> getBooking(@PathVariable Long bookingId,
 											 @RequestHeader(USER_HEADER) Long userId) {
@@ -62,16 +78,12 @@ public class BookingController {
 												 @Min(value = 0, message = "Minimum from: 0") int from,
 												 @RequestParam(defaultValue = "10")
 												 @Min(value = 1, message = "Minimum size: 1") int size,
+												 @RequestParam(required = false) String cursor,
 												 @RequestHeader(USER_HEADER) Long userId) {
 		log.info("Booking Controller: Получены бронирования владельца. " +
 				"Пользователь с ID {}, Состояние {}", userId, state);
-		BookingState realState;
-		try {
-			realState = BookingState.valueOf(state.toUpperCase());
-		} catch (IllegalArgumentException e) {
-			throw new BookingStatusException("Unknown state: UNSUPPORTED_STATUS");
-		}
-		return bookingClient.getOwnBookings(realState, userId, from, size);
+		BookingState realState = BookingValidator.parseState(state);
+		return bookingClient.getOwnBookings(realState, userId, from, size, cursor);
 	}
 
 	@GetMapping(value = "/owner")
@@ -80,14 +92,10 @@ public class BookingController {
 													  @Min(value = 0, message = "Minimum from: 0") int from,
 													  @RequestParam(defaultValue = "10")
 													  @Min(value = 1, message = "Minimum size: 1") int size,
+													  @RequestParam(required = false) String cursor,
 													  @RequestHeader(USER_HEADER) Long userId) {
 		log.info("Booking Controller: Получен владелец бронирований. ID пользователя {}, Состояние {}", userId, state);
-		BookingState realState;
-		try {
-			realState = BookingState.valueOf(state.toUpperCase());
-		} catch (IllegalArgumentException e) {
-			throw new BookingStatusException("Unknown state: UNSUPPORTED_STATUS");
-		}
-		return bookingClient.getOwnItemsBookings(realState, userId, from, size);
+		BookingState realState = BookingValidator.parseState(state);
+		return bookingClient.getOwnItemsBookings(realState, userId, from, size, cursor);
 	}
 }
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.booking;
+
+import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.exception.BookingException;
+import ru.practicum.shareit.exception.BookingStatusException;
+
+import java.util.List;
+
+@UtilityClass
+public class BookingValidator {
+
+	public static void validateDates(BookingDtoRequest bookingDtoRequest) {
+		if (bookingDtoRequest.getStart() == null || bookingDtoRequest.getEnd() == null) {
+			throw new BookingException("Начало и окончание бронирования не должны быть пустыми");
+		}
+		if (bookingDtoRequest.getStart().isEqual(bookingDtoRequest.getEnd())) {
+			throw new BookingException("Начало и окончание бронирования одинаковы");
+		}
+		if (bookingDtoRequest.getEnd().isBefore(bookingDtoRequest.getStart())) {
+			throw new BookingException("Окончание бронирования раньше начала бронирования");
+		}
+	}
+
+	public static void validateBatch(List<BookingDtoRequest> bookingDtoRequests) {
+		for (int i = 0; i < bookingDtoRequests.size(); i++) {
+			if (bookingDtoRequests.get(i) == null) {
+				throw new BookingException(String.format("Бронирование с индексом %s не должно быть пустым", i));
+			}
+			try {
+				validateDates(bookingDtoRequests.get(i));
+			} catch (BookingException e) {
+				throw new BookingException(String.format("Бронирование с индексом %s: %s", i, e.getMessage()));
+			}
+		}
+	}
+
+	public static BookingState parseState(String state) {
+		try {
+			return BookingState.valueOf(state.toUpperCase());
+		} catch (IllegalArgumentException e) {
+			throw new BookingStatusException("Unknown state: UNSUPPORTED_STATUS");
+		}
+	}
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ReactiveClient;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+@Controller
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@Profile("reactive")
+public class ReactiveBookingController {
+	private static final String USER_HEADER = "X-Sharer-User-Id";
+	private static final int MAX_BATCH_SIZE = 100;
+	private final ReactiveClient reactiveClient;
+
+	@PostMapping
+	public Mono<ResponseEntity<Flux<DataBuffer>>> createBooking(@Valid @RequestBody BookingDtoRequest bookingDtoRequest,
+																@RequestHeader(USER_HEADER) Long userId) {
+		BookingValidator.validateDates(bookingDtoRequest);
+		log.info("Booking Controller: Бронирование создано. ID пользователя {}", userId);
+		return reactiveClient.post(userId, bookingDtoRequest, "/bookings");
+	}
+
+	@PostMapping(value = "/batch")
+	public Mono<ResponseEntity<Flux<DataBuffer>>> createBookings(@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE, message = "Batch size: from 1 to " + MAX_BATCH_SIZE)
+																 List<@NotNull @Valid BookingDtoRequest> bookingDtoRequests,
+																 @RequestHeader(USER_HEADER) Long userId) {
+		BookingValidator.validateBatch(bookingDtoRequests);
+		log.info("Booking Controller: Пакетное создание бронирований. ID пользователя {}, количество {}",
+				userId, bookingDtoRequests.size());
+		return reactiveClient.post(userId, bookingDtoRequests, "/bookings/batch");
+	}
+
+	@PatchMapping(value = "/{bookingId}")
+	public Mono<ResponseEntity<Flux<DataBuffer>>> changeState(@PathVariable Long bookingId,
+															  @RequestParam Boolean approved,
+															  @RequestHeader(USER_HEADER) Long userId) {
+		log.info("Booking Controller: изменение состояние бронирования. " +
+				"ID Пользователя {}, ID бронирования {}", userId, bookingId);
+		return reactiveClient.patch(userId, null, "/bookings/{bookingId}?approved={approved}", bookingId, approved);
+	}
+
+	@PatchMapping(value = "/owner/batch")
+	public Mono<ResponseEntity<Flux<DataBuffer>>> changeStates(@RequestBody @Size(min = 1, max = MAX_BATCH_SIZE, message = "Batch size: from 1 to " + MAX_BATCH_SIZE)
+															   List<Long> bookingIds,
+															   @RequestParam Boolean approved,
+															   @RequestHeader(USER_HEADER) Long userId) {
+		log.info("Booking Controller: Пакетное изменение состояния бронирований. ID пользователя {}, количество {}",
+				userId, bookingIds.size());
+		return reactiveClient.patch(userId, bookingIds, "/bookings/owner/batch?approved={approved}", approved);
+	}
+
+	@GetMapping(value = "/{bookingId}")
+	public Mono<ResponseEntity<Flux<DataBuffer>>> getBooking(@PathVariable Long bookingId,
+															 @RequestHeader(USER_HEADER) Long userId) {
+		log.info("Booking Controller: Получение бронирования. ID Пользователя {}," +
+				" ID бронирования {}", userId, bookingId);
+		return reactiveClient.get(userId, "/bookings/{bookingId}", bookingId);
+	}
+
+	@GetMapping
+	public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnBookings(@RequestParam(name = "state", defaultValue = "ALL") String state,
+																 @RequestParam(defaultValue = "0")
+																 @Min(value = 0, message = "Minimum from: 0") int from,
+																 @RequestParam(defaultValue = "10")
+																 @Min(value = 1, message = "Minimum size: 1") int size,
+																 @RequestParam(required = false) String cursor,
+																 @RequestHeader(USER_HEADER) Long userId) {
+		log.info("Booking Controller: Получены бронирования владельца. " +
+				"Пользователь с ID {}, Состояние {}", userId, state);
+		BookingState realState = BookingValidator.parseState(state);
+		return listBookings("/bookings", realState, userId, from, size, cursor);
+	}
+
+	@GetMapping(value = "/owner")
+	public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnItemsBookings(@RequestParam(name = "state", defaultValue = "ALL") String state,
+																	  @RequestParam(defaultValue = "0")
+																	  @Min(value = 0, message = "Minimum from: 0") int from,
+																	  @RequestParam(defaultValue = "10")
+																	  @Min(value = 1, message = "Minimum size: 1") int size,
+																	  @RequestParam(required = false) String cursor,
+																	  @RequestHeader(USER_HEADER) Long userId) {
+		log.info("Booking Controller: Получен владелец бронирований. ID пользователя {}, Состояние {}", userId, state);
+		BookingState realState = BookingValidator.parseState(state);
+		return listBookings("/bookings/owner", realState, userId, from, size, cursor);
+	}
+
+	private Mono<ResponseEntity<Flux<DataBuffer>>> listBookings(String path, BookingState state, Long userId,
+																int from, int size, String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return reactiveClient.get(userId, path + "?state={state}&from={from}&size={size}",
+					state.name(), from, size);
+		}
+		return reactiveClient.get(userId, path + "?state={state}&from={from}&size={size}&cursor={cursor}",
+				state.name(), from, size, cursor);
+	}
+}
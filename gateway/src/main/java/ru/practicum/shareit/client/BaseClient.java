@@ -6,6 +6,7 @@ import java.util.Map;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
@@ -14,9 +15,15 @@ import org.springframework.web.client.RestTemplate;
 
 public class BaseClient {
     protected final RestTemplate rest;
+    private final ResponseCache responseCache;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, null);
+    }
+
+    public BaseClient(RestTemplate rest, @Nullable ResponseCache responseCache) {
         this.rest = rest;
+        this.responseCache = responseCache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -80,21 +87,40 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        HttpHeaders headers = defaultHeaders(userId);
+        String uri = null;
+        ResponseCache.CachedResponse cached = null;
+        if (method == HttpMethod.GET && responseCache != null) {
+            uri = rest.getUriTemplateHandler().expand(path, parameters != null ? parameters : Map.of()).toString();
+            cached = responseCache.get(uri, userId);
+            if (cached != null) {
+                headers.setIfNoneMatch(cached.getETag());
+            }
+        }
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, headers);
 
-        ResponseEntity<Object> shareitServerResponse;
+        ResponseEntity<byte[]> shareitServerResponse;
         try {
             if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class, parameters);
             } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
+                shareitServerResponse = rest.exchange(path, method, requestEntity, byte[].class);
             }
         } catch (HttpStatusCodeException e) {
+            if (uri != null) {
+                responseCache.put(uri, userId, ResponseEntity.status(e.getStatusCode()).build());
+            }
             return ResponseEntity
                     .status(e.getStatusCode())
                     .contentType(MediaType.APPLICATION_JSON)
                     .body(e.getResponseBodyAsByteArray());
         }
+        if (uri != null) {
+            if (cached != null && shareitServerResponse.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                return cached.toResponseEntity();
+            }
+            responseCache.put(uri, userId, shareitServerResponse);
+        }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
@@ -108,13 +134,13 @@ public class BaseClient {
         return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<byte[]> response) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+
         if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+            responseBuilder.headers(ResponseCache.passthroughHeaders(response.getHeaders()));
         }
 
-        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
-
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
         }
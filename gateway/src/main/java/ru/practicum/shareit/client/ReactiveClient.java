@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+
+@Component
+@Profile("reactive")
+public class ReactiveClient {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final List<String> SKIPPED_HEADERS = List.of(
+            HttpHeaders.CONNECTION,
+            HttpHeaders.TRANSFER_ENCODING,
+            "Keep-Alive"
+    );
+    private final WebClient webClient;
+
+    public ReactiveClient(WebClient webClient) {
+        this.webClient = webClient;
+    }
+
+    @Autowired
+    public ReactiveClient(@Value("${shareit-server.url}") String serverUrl,
+                          WebClient.Builder builder,
+                          @Value("${shareit-gateway.http-client.max-total:200}") int maxTotal,
+                          @Value("${shareit-gateway.http-client.connect-timeout:2s}") Duration connectTimeout,
+                          @Value("${shareit-gateway.http-client.read-timeout:10s}") Duration readTimeout,
+                          @Value("${shareit-gateway.http-client.lease-timeout:2s}") Duration leaseTimeout,
+                          @Value("${shareit-gateway.http-client.idle-timeout:30s}") Duration idleTimeout) {
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("shareit-server")
+                .maxConnections(maxTotal)
+                .pendingAcquireTimeout(leaseTimeout)
+                .maxIdleTime(idleTimeout)
+                .metrics(true)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+        this.webClient = builder
+                .baseUrl(serverUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .build();
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> get(Long userId, String uri, Object... uriVariables) {
+        return exchange(HttpMethod.GET, userId, null, uri, uriVariables);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> post(Long userId, Object body, String uri, Object... uriVariables) {
+        return exchange(HttpMethod.POST, userId, body, uri, uriVariables);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> patch(Long userId, @Nullable Object body, String uri,
+                                                        Object... uriVariables) {
+        return exchange(HttpMethod.PATCH, userId, body, uri, uriVariables);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> delete(Long userId, String uri, Object... uriVariables) {
+        return exchange(HttpMethod.DELETE, userId, null, uri, uriVariables);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> exchange(HttpMethod method, @Nullable Long userId,
+                                                            @Nullable Object body, String uri,
+                                                            Object... uriVariables) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(uri, uriVariables)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (userId != null) {
+                        headers.set(USER_HEADER, String.valueOf(userId));
+                    }
+                });
+        WebClient.RequestHeadersSpec<?> spec = body == null ? request
+                : request.contentType(MediaType.APPLICATION_JSON).bodyValue(body);
+        return spec.retrieve()
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(ReactiveClient::prepareGatewayResponse);
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> prepareGatewayResponse(ResponseEntity<Flux<DataBuffer>> response) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(response.getHeaders());
+        SKIPPED_HEADERS.forEach(headers::remove);
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(headers)
+                .body(response.getBody());
+    }
+}
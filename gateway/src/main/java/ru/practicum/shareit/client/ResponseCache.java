@@ -0,0 +1,96 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@Profile("!reactive")
+public class ResponseCache {
+    private static final List<String> SKIPPED_HEADERS = List.of(
+            HttpHeaders.CONNECTION,
+            HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.DATE,
+            HttpHeaders.TRANSFER_ENCODING,
+            "Keep-Alive"
+    );
+    private final Cache<String, CachedResponse> responses;
+    private final long maxBodySize;
+
+    public ResponseCache(@Value("${shareit-gateway.response-cache.maximum-weight:64MB}") DataSize maximumWeight,
+                         @Value("${shareit-gateway.response-cache.max-body-size:256KB}") DataSize maxBodySize,
+                         @Value("${shareit-gateway.response-cache.ttl:10m}") Duration ttl) {
+        this.responses = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight.toBytes())
+                .weigher((String key, CachedResponse response) -> weigh(key, response))
+                .expireAfterAccess(ttl)
+                .build();
+        this.maxBodySize = maxBodySize.toBytes();
+    }
+
+    public CachedResponse get(String uri, Long userId) {
+        return responses.getIfPresent(key(uri, userId));
+    }
+
+    public void put(String uri, Long userId, ResponseEntity<byte[]> response) {
+        String eTag = response.getHeaders().getETag();
+        byte[] body = response.getBody();
+        if (!response.getStatusCode().is2xxSuccessful() || eTag == null
+                || (body != null && body.length > maxBodySize)) {
+            responses.invalidate(key(uri, userId));
+            return;
+        }
+        responses.put(key(uri, userId), new CachedResponse(eTag,
+                HttpHeaders.readOnlyHttpHeaders(passthroughHeaders(response.getHeaders())), body));
+    }
+
+    static HttpHeaders passthroughHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(serverHeaders);
+        SKIPPED_HEADERS.forEach(headers::remove);
+        return headers;
+    }
+
+    private static int weigh(String key, CachedResponse response) {
+        long weight = key.length() + response.eTag.length();
+        for (Map.Entry<String, List<String>> header : response.headers.entrySet()) {
+            weight += header.getKey().length();
+            for (String value : header.getValue()) {
+                weight += value.length();
+            }
+        }
+        if (response.body != null) {
+            weight += response.body.length;
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static String key(String uri, Long userId) {
+        return uri + "|" + userId;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CachedResponse {
+        private final String eTag;
+        private final HttpHeaders headers;
+        private final byte[] body;
+
+        public ResponseEntity<Object> toResponseEntity() {
+            return ResponseEntity.ok()
+                    .headers(headers)
+                    .body(body);
+        }
+    }
+}
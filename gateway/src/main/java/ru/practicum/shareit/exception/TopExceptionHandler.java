@@ -2,6 +2,7 @@ package ru.practicum.shareit.exception;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingRequestHeaderException;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import javax.validation.ConstraintViolationException;
 import java.util.Objects;
@@ -44,6 +46,19 @@ public class TopExceptionHandler {
         return new ErrorResponse("Ошибка валидации", sb.toString());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(code = HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleWebExchangeBindException(final WebExchangeBindException e) {
+        StringBuilder sb = new StringBuilder();
+        for (FieldError err : e.getFieldErrors()) {
+            sb.append(err.getField()).append(": ");
+            sb.append(err.getDefaultMessage()).append(". ");
+        }
+        sb.delete(sb.length() - 2, sb.length());
+        log.error("Ошибка валидации --- " + sb);
+        return new ErrorResponse("Ошибка валидации", sb.toString());
+    }
+
     @ExceptionHandler
     @ResponseStatus(code = HttpStatus.BAD_REQUEST)
     public ErrorResponse handleRequestHeaderException(final MissingRequestHeaderException e) {
@@ -2,6 +2,8 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -10,12 +12,16 @@ import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 
 import javax.validation.Valid;
+import java.time.LocalDateTime;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
 
 @Controller
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Slf4j
 @Validated
+@Profile("!reactive")
 public class ItemController {
     private static final String USER_HEADER = "X-Sharer-User-Id";
     private final ItemClient itemClient;
@@ -56,6 +62,15 @@ public class ItemController {
         return itemClient.searchItems(text, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@PathVariable long itemId,
+                                                  @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime to,
+                                                  @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Item Controller: Получены свободные периоды. ID пользователя: {}, ID вещи: {}", userId, itemId);
+        return itemClient.getAvailability(itemId, from, to, userId);
+    }
+
     @PostMapping("/{itemId}/comment")
     public ResponseEntity<Object> createComment(@Valid @RequestBody CommentDtoRequest commentDtoRequest,
                                                 @PathVariable long itemId,
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveClient;
+import ru.practicum.shareit.item.dto.CommentDtoRequest;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+
+import javax.validation.Valid;
+import java.time.LocalDateTime;
+
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
+
+@Controller
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@Profile("reactive")
+public class ReactiveItemController {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private final ReactiveClient reactiveClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItem(@Valid @RequestBody ItemDtoRequest itemDtoRequest,
+                                                             @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Item Controller: Вещь создана. ID пользователя: {}", userId);
+        return reactiveClient.post(userId, itemDtoRequest, "/items");
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateOwnItem(@RequestBody ItemDtoRequest itemDtoRequest,
+                                                                @PathVariable long itemId,
+                                                                @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Item Controller: Владелец вещи обновлен. ID пользователя: {}, ID вещи {}", userId, itemId);
+        itemDtoRequest.setId(itemId);
+        return reactiveClient.patch(userId, itemDtoRequest, "/items/{itemId}", itemId);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItem(@PathVariable long itemId,
+                                                          @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Item Controller: Получена вещь. ID пользователя: {}, ID вещи: {}", userId, itemId);
+        return reactiveClient.get(userId, "/items/{itemId}", itemId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getOwnItems(@RequestHeader(USER_HEADER) Long userId) {
+        log.info("Item Controller: Получен владелец вещей. ID пользователя {}", userId);
+        return reactiveClient.get(userId, "/items");
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItems(@RequestParam String text,
+                                                              @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Item Controller: Найдены вещи. ID пользователя {}, текст: {}", userId, text);
+        return reactiveClient.get(userId, "/items/search?text={text}", text);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAvailability(@PathVariable long itemId,
+                                                                  @RequestParam @DateTimeFormat(iso = DATE_TIME)
+                                                                  LocalDateTime from,
+                                                                  @RequestParam @DateTimeFormat(iso = DATE_TIME)
+                                                                  LocalDateTime to,
+                                                                  @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Item Controller: Получены свободные периоды. ID пользователя: {}, ID вещи: {}", userId, itemId);
+        return reactiveClient.get(userId, "/items/{itemId}/availability?from={from}&to={to}", itemId, from, to);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(@Valid @RequestBody CommentDtoRequest commentDtoRequest,
+                                                                @PathVariable long itemId,
+                                                                @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Item Controller: Создание комментария. ID пользователя: {} для вещи с ID {}", userId, itemId);
+        return reactiveClient.post(userId, commentDtoRequest, "/items/{itemId}/comment", itemId);
+    }
+}
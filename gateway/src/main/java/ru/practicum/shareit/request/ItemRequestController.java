@@ -2,6 +2,7 @@ package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
@@ -16,6 +17,7 @@ import javax.validation.constraints.Min;
 @RequiredArgsConstructor
 @Slf4j
 @Validated
+@Profile("!reactive")
 public class ItemRequestController {
     private static final String USER_HEADER = "X-Sharer-User-Id";
     private final ItemRequestClient itemRequestClient;
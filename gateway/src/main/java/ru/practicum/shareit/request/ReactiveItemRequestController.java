@@ -0,0 +1,58 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveClient;
+import ru.practicum.shareit.request.dto.ItemRequestDtoRequest;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+
+@Controller
+@RequestMapping("/requests")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@Profile("reactive")
+public class ReactiveItemRequestController {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private final ReactiveClient reactiveClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createRequest(@Valid @RequestBody ItemRequestDtoRequest itemRequestDtoRequest,
+                                                                @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Request Controller: Создан запрос. ID пользователя {}", userId);
+        return reactiveClient.post(userId, itemRequestDtoRequest, "/requests");
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findByUserId(@RequestHeader(USER_HEADER) Long userId) {
+        log.info("Request Controller: Найдены все запросы от пользователя с ID {}", userId);
+        return reactiveClient.get(userId, "/requests");
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findFromAll(@RequestHeader(USER_HEADER) Long userId,
+                                                              @RequestParam(defaultValue = "0")
+                                                              @Min(value = 0, message = "Minimum from: 0") int from,
+                                                              @RequestParam(defaultValue = "10")
+                                                              @Min(value = 1, message = "Minimum size: 1") int size) {
+        log.info("Request Controller: Найдены все запросы от пользователя с ID {}", userId);
+        return reactiveClient.get(userId, "/requests/all?from={from}&size={size}", from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findByRequestId(@PathVariable Long requestId,
+                                                                  @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Request Controller: Поиск по запросу с ID {}. По пользователю с ID {}", requestId, userId);
+        return reactiveClient.get(userId, "/requests/{requestId}", requestId);
+    }
+}
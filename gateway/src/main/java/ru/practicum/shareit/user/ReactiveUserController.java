@@ -0,0 +1,58 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveClient;
+import ru.practicum.shareit.user.dto.UserDtoRequest;
+
+import javax.validation.Valid;
+
+@Controller
+@RequestMapping("/users")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@Profile("reactive")
+public class ReactiveUserController {
+    private final ReactiveClient reactiveClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createUser(@Valid @RequestBody UserDtoRequest userDtoRequest) {
+        log.info("User Controller: Пользователь создан. Его email: {}", userDtoRequest.getEmail());
+        return reactiveClient.post(null, userDtoRequest, "/users");
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(@RequestBody UserDtoRequest userDtoRequest,
+                                                             @PathVariable long userId) {
+        log.info("User Controller: Пользователь обновлен. ID пользователя: {}", userId);
+        userDtoRequest.setId(userId);
+        return reactiveClient.patch(null, userDtoRequest, "/users/{userId}", userId);
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteUser(@PathVariable long userId) {
+        log.info("User Controller: Пользователь удален. ID пользователя было: {}", userId);
+        return reactiveClient.delete(null, "/users/{userId}", userId);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUser(@PathVariable long userId) {
+        log.info("User Controller: Получен пользователь. ID пользователя: {}", userId);
+        return reactiveClient.get(null, "/users/{userId}", userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUsers() {
+        log.info("User Controller: Получены все пользователи");
+        return reactiveClient.get(null, "/users");
+    }
+}
@@ -8,11 +8,19 @@ import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.exception.BookingStatusException;
 
+import javax.validation.Validation;
+import javax.validation.executable.ExecutableValidator;
+import java.lang.reflect.Method;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 class BookingControllerTest {
 
@@ -70,10 +78,55 @@ class BookingControllerTest {
         assertEquals("Начало и окончание бронирования не должны быть пустыми", exception.getMessage());
     }
 
+    @Test
+    void createBookingsTest_ThrowNullEntry() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDtoRequest> requests = Arrays.asList(
+                new BookingDtoRequest(start, start.plusHours(1), 1L), null);
+
+        Throwable exception = assertThrows(BookingException.class,
+                () -> bookingController.createBookings(requests, 1L)
+        );
+        assertEquals("Бронирование с индексом 1 не должно быть пустым", exception.getMessage());
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void createBookingsTest_ThrowInvalidEntry() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDtoRequest> requests = List.of(
+                new BookingDtoRequest(start, start.plusHours(1), 1L),
+                new BookingDtoRequest(start.plusHours(1), start, 1L));
+
+        Throwable exception = assertThrows(BookingException.class,
+                () -> bookingController.createBookings(requests, 1L)
+        );
+        assertEquals("Бронирование с индексом 1: Окончание бронирования раньше начала бронирования",
+                exception.getMessage());
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void createBookingsTest_ElementConstraintsReportIndex() throws NoSuchMethodException {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDtoRequest> requests = Arrays.asList(
+                null, new BookingDtoRequest(start, start.plusHours(1), null));
+        Method method = BookingController.class.getMethod("createBookings", List.class, Long.class);
+        ExecutableValidator validator = Validation.buildDefaultValidatorFactory().getValidator().forExecutables();
+
+        Set<String> paths = validator.validateParameters(bookingController, method, new Object[]{requests, 1L})
+                .stream()
+                .map(violation -> violation.getPropertyPath().toString())
+                .collect(Collectors.toSet());
+
+        assertEquals(Set.of("createBookings.bookingDtoRequests[0].<list element>",
+                "createBookings.bookingDtoRequests[1].itemId"), paths);
+    }
+
     @Test
     void getOwnBookings_TrowByState() {
         Throwable exception = assertThrows(BookingStatusException.class,
-                () -> bookingController.getOwnBookings("SSS", 1, 1, 1L)
+                () -> bookingController.getOwnBookings("SSS", 1, 1, null, 1L)
         );
         assertEquals("Unknown state: UNSUPPORTED_STATUS", exception.getMessage());
     }
@@ -0,0 +1,154 @@
+package client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+class BaseClientTest {
+    private static final String URL = "http://localhost:9090/items/1";
+    private static final int MAX_BODY_SIZE = 1024;
+
+    private MockRestServiceServer server;
+    private TestClient client;
+
+    @BeforeEach
+    void init() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory("http://localhost:9090/items"));
+        server = MockRestServiceServer.bindTo(rest).build();
+        client = new TestClient(rest, new ResponseCache(DataSize.ofKilobytes(64), DataSize.ofBytes(MAX_BODY_SIZE),
+                Duration.ofMinutes(1)));
+    }
+
+    @Test
+    void getRevalidatesCachedResponseTest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        server.expect(requestTo(URL))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\": 1}", MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo(URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers));
+
+        ResponseEntity<Object> first = client.get("/1", 1L);
+        ResponseEntity<Object> second = client.get("/1", 1L);
+
+        server.verify();
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertEquals("\"v1\"", second.getHeaders().getETag());
+        assertArrayEquals((byte[]) first.getBody(), (byte[]) second.getBody());
+        assertArrayEquals("{\"id\": 1}".getBytes(StandardCharsets.UTF_8), (byte[]) second.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, second.getHeaders().getContentType());
+    }
+
+    @Test
+    void getPassesServerBodyAndHeadersThroughTest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Next-Cursor", "abc");
+        headers.set(HttpHeaders.CONNECTION, "keep-alive");
+        String body = "[{\"id\": 1, \"name\": \"Дрель\"}]";
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+
+        ResponseEntity<Object> response = client.get("/1", 1L);
+
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertEquals("abc", response.getHeaders().getFirst("X-Next-Cursor"));
+        assertFalse(response.getHeaders().containsKey(HttpHeaders.CONNECTION));
+    }
+
+    @Test
+    void getIsCachedPerUserTest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        server.expect(requestTo(URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\": 1}", MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo(URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess("{\"id\": 1}", MediaType.APPLICATION_JSON).headers(headers));
+
+        client.get("/1", 1L);
+        client.get("/1", 2L);
+
+        server.verify();
+    }
+
+    @Test
+    void getSkipsCachingOversizedBodyTest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        String body = "[\"" + "a".repeat(MAX_BODY_SIZE) + "\"]";
+        server.expect(requestTo(URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo(URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(body, MediaType.APPLICATION_JSON).headers(headers));
+
+        client.get("/1", 1L);
+        ResponseEntity<Object> second = client.get("/1", 1L);
+
+        server.verify();
+        assertArrayEquals(body.getBytes(StandardCharsets.UTF_8), (byte[]) second.getBody());
+    }
+
+    @Test
+    void errorDropsCachedResponseTest() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"v1\"");
+        server.expect(requestTo(URL))
+                .andRespond(withSuccess("{\"id\": 1}", MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo(URL))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(requestTo(URL))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        client.get("/1", 1L);
+        assertEquals(HttpStatus.NOT_FOUND, client.get("/1", 1L).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, client.get("/1", 1L).getStatusCode());
+
+        server.verify();
+    }
+
+    private static class TestClient extends BaseClient {
+        TestClient(RestTemplate rest, ResponseCache responseCache) {
+            super(rest, responseCache);
+        }
+
+        @Override
+        public ResponseEntity<Object> get(String path, long userId) {
+            return super.get(path, userId);
+        }
+    }
+}
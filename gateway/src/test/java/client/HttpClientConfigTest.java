@@ -0,0 +1,52 @@
+package client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+import ru.practicum.shareit.ShareItGateway;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@SpringBootTest(classes = ShareItGateway.class, webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "shareit-gateway.http-client.max-per-route=7")
+class HttpClientConfigTest {
+
+    @Autowired
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @Autowired
+    private HttpComponentsClientHttpRequestFactory requestFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BookingClient bookingClient;
+
+    @Autowired
+    private ItemClient itemClient;
+
+    @Test
+    void clientsSharePooledRequestFactoryTest() {
+        assertEquals(7, connectionManager.getDefaultMaxPerRoute());
+        assertEquals(200, connectionManager.getMaxTotal());
+        assertSame(requestFactory, ReflectionTestUtils.getField(rest(bookingClient), "requestFactory"));
+        assertSame(requestFactory, ReflectionTestUtils.getField(rest(itemClient), "requestFactory"));
+        assertEquals(200.0, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "shareit-server")
+                .gauge()
+                .value());
+    }
+
+    private RestTemplate rest(Object client) {
+        return (RestTemplate) ReflectionTestUtils.getField(client, "rest");
+    }
+}
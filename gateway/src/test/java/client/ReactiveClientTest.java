@@ -0,0 +1,106 @@
+package client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.ReactiveBookingController;
+import ru.practicum.shareit.client.ReactiveClient;
+import ru.practicum.shareit.exception.TopExceptionHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReactiveClientTest {
+    private final List<ClientRequest> requests = new ArrayList<>();
+    private ClientResponse response;
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void init() {
+        WebClient webClient = WebClient.builder()
+                .baseUrl("http://localhost:9090")
+                .exchangeFunction(request -> {
+                    requests.add(request);
+                    return Mono.just(response);
+                })
+                .build();
+        webTestClient = WebTestClient
+                .bindToController(new ReactiveBookingController(new ReactiveClient(webClient)))
+                .controllerAdvice(new TopExceptionHandler())
+                .build();
+    }
+
+    @Test
+    void getStreamsServerResponseTest() {
+        response = ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, "\"v1\"")
+                .header(HttpHeaders.CONNECTION, "keep-alive")
+                .body("{\"id\":1}")
+                .build();
+
+        webTestClient.get().uri("/bookings/1")
+                .header("X-Sharer-User-Id", "2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"v1\"")
+                .expectHeader().doesNotExist(HttpHeaders.CONNECTION)
+                .expectBody().json("{\"id\":1}");
+
+        assertEquals(1, requests.size());
+        assertEquals(HttpMethod.GET, requests.get(0).method());
+        assertEquals("http://localhost:9090/bookings/1", requests.get(0).url().toString());
+        assertEquals("2", requests.get(0).headers().getFirst("X-Sharer-User-Id"));
+    }
+
+    @Test
+    void getPassesServerErrorsThroughTest() {
+        response = ClientResponse.create(HttpStatus.NOT_FOUND)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\":\"Бронирование не найдено\"}")
+                .build();
+
+        webTestClient.get().uri("/bookings?state=past&cursor=abc")
+                .header("X-Sharer-User-Id", "2")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody().json("{\"error\":\"Бронирование не найдено\"}");
+
+        assertEquals("http://localhost:9090/bookings?state=PAST&from=0&size=10&cursor=abc",
+                requests.get(0).url().toString());
+    }
+
+    @Test
+    void getWithUnknownStateIsRejectedLocallyTest() {
+        webTestClient.get().uri("/bookings/owner?state=UNKNOWN")
+                .header("X-Sharer-User-Id", "2")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody().json("{\"error\":\"Unknown state: UNSUPPORTED_STATUS\"}");
+
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    void createWithWrongDatesIsRejectedLocallyTest() {
+        webTestClient.post().uri("/bookings")
+                .header("X-Sharer-User-Id", "2")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"itemId\":1,\"start\":\"2030-01-02T10:00:00\",\"end\":\"2030-01-01T10:00:00\"}")
+                .exchange()
+                .expectStatus().isBadRequest();
+
+        assertTrue(requests.isEmpty());
+    }
+}
@@ -0,0 +1,34 @@
+package client;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.reactive.context.ReactiveWebApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.reactive.function.client.WebClient;
+import ru.practicum.shareit.ShareItGateway;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.BookingController;
+import ru.practicum.shareit.booking.ReactiveBookingController;
+import ru.practicum.shareit.client.ReactiveClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = ShareItGateway.class)
+@ActiveProfiles("reactive")
+class ReactiveProfileTest {
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void reactiveProfileReplacesBlockingStackTest() {
+        assertTrue(context instanceof ReactiveWebApplicationContext);
+        assertEquals(1, context.getBeanNamesForType(ReactiveBookingController.class).length);
+        assertEquals(1, context.getBeanNamesForType(ReactiveClient.class).length);
+        assertEquals(0, context.getBeanNamesForType(BookingController.class).length);
+        assertEquals(0, context.getBeanNamesForType(BookingClient.class).length);
+        assertTrue(context.getBeanProvider(WebClient.Builder.class).getIfAvailable() != null);
+    }
+}
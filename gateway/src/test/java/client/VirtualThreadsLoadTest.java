@@ -0,0 +1,132 @@
+package client;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Запуск на JDK 21+: mvn -pl gateway -am test -Dtest=VirtualThreadsLoadTest -Dsurefire.failIfNoSpecifiedTests=false
+ * -Dbenchmark=true
+ * Сервер заменен заглушкой с фиксированной задержкой ответа, чтобы шлюз упирался в ожидание, а не в CPU.
+ * Пул исходящих соединений одинаков в обоих прогонах, различается только модель потоков Tomcat.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class VirtualThreadsLoadTest {
+    private static final int CONCURRENCY = 1000;
+    private static final int WARMUP = 1000;
+    private static final int REQUESTS = 10_000;
+    private static final long SERVER_DELAY_MS = 50;
+
+    static {
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(CONCURRENCY));
+    }
+
+    private HttpServer shareitServer;
+    private ExecutorService shareitServerExecutor;
+
+    @BeforeEach
+    void init() throws IOException {
+        byte[] body = "[]".getBytes(StandardCharsets.UTF_8);
+        shareitServer = HttpServer.create(new InetSocketAddress(0), CONCURRENCY);
+        shareitServer.createContext("/users", exchange -> {
+            try {
+                Thread.sleep(SERVER_DELAY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        shareitServerExecutor = Executors.newCachedThreadPool();
+        shareitServer.setExecutor(shareitServerExecutor);
+        shareitServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        shareitServer.stop(0);
+        shareitServerExecutor.shutdownNow();
+    }
+
+    @Test
+    void virtualThreadsThroughputTest() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Профиль virtual-threads требует JDK 21+");
+
+        double platform = measure();
+        double virtual = measure("virtual-threads");
+
+        log.info("Пул потоков Tomcat: {} запросов/с, виртуальные потоки: {} запросов/с ({} одновременных клиентов)",
+                Math.round(platform), Math.round(virtual), CONCURRENCY);
+        assertTrue(virtual > platform);
+    }
+
+    private double measure(String... profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItGateway.class)
+                .profiles(profiles)
+                .run("--server.port=0",
+                        "--shareit-server.url=http://localhost:" + shareitServer.getAddress().getPort(),
+                        "--shareit-gateway.http-client.max-total=" + CONCURRENCY,
+                        "--shareit-gateway.http-client.max-per-route=" + CONCURRENCY,
+                        "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                        "--logging.level.ru.practicum.shareit=WARN")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users")).build();
+            send(client, request, WARMUP);
+            long start = System.nanoTime();
+            send(client, request, REQUESTS);
+            return REQUESTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+        }
+    }
+
+    private static void send(HttpClient client, HttpRequest request, int count) throws InterruptedException {
+        Semaphore permits = new Semaphore(CONCURRENCY);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<CompletableFuture<?>> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            permits.acquire();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        if (response != null && response.statusCode() == 200) {
+                            succeeded.incrementAndGet();
+                        }
+                        permits.release();
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+        assertEquals(count, succeeded.get());
+    }
+}
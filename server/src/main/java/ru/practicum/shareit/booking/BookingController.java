@@ -2,7 +2,10 @@ package ru.practicum.shareit.booking;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingCursorDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.enums.BookingState;
@@ -16,6 +19,7 @@ import java.util.List;
 @Slf4j
 public class BookingController {
     private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final BookingService bookingService;
 
     @PostMapping
@@ -25,6 +29,14 @@ public class BookingController {
         return bookingService.createBooking(bookingDtoRequest, userId);
     }
 
+    @PostMapping(value = "/batch")
+    public List<BookingBatchDtoResponse> createBookings(@RequestBody List<BookingDtoRequest> bookingDtoRequests,
+                                                        @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Booking Controller: Пакетное создание бронирований. ID Пользователя {}, количество {}",
+                userId, bookingDtoRequests.size());
+        return bookingService.createBookings(bookingDtoRequests, userId);
+    }
+
     @PatchMapping(value = "/{bookingId}")
     public BookingDtoResponse changeState(@PathVariable Long bookingId,
                                           @RequestParam Boolean approved,
@@ -34,6 +46,15 @@ public class BookingController {
         return bookingService.changeState(bookingId, approved, userId);
     }
 
+    @PatchMapping(value = "/owner/batch")
+    public List<BookingBatchDtoResponse> changeStates(@RequestBody List<Long> bookingIds,
+                                                      @RequestParam Boolean approved,
+                                                      @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Booking Controller: Пакетное изменение состояния бронирований. ID Пользователя {}, количество {}",
+                userId, bookingIds.size());
+        return bookingService.changeStates(bookingIds, approved, userId);
+    }
+
     @GetMapping(value = "/{bookingId}")
     public BookingDtoResponse getBooking(@PathVariable Long bookingId,
                                          @RequestHeader(USER_HEADER) Long userId) {
@@ -43,20 +64,39 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingDtoResponse> getOwnBookings(@RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                   @RequestParam(defaultValue = "0") int from,
-                                                   @RequestParam(defaultValue = "10") int size,
-                                                   @RequestHeader(USER_HEADER) Long userId) {
+    public ResponseEntity<List<BookingDtoResponse>> getOwnBookings(
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(USER_HEADER) Long userId) {
         log.info("Booking Controller: Получены бронирования владельца. Пользователь с ID {}, Состояние {}", userId, state);
-        return bookingService.getOwnBookings(BookingState.valueOf(state), userId, from, size);
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getOwnBookings(BookingState.valueOf(state), userId, from, size));
+        }
+        return toCursorResponse(bookingService.getOwnBookingsByCursor(BookingState.valueOf(state), userId, cursor, size));
     }
 
     @GetMapping(value = "/owner")
-    public List<BookingDtoResponse> getOwnItemsBookings(@RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                        @RequestParam(defaultValue = "0") int from,
-                                                        @RequestParam(defaultValue = "10") int size,
-                                                        @RequestHeader(USER_HEADER) Long userId) {
+    public ResponseEntity<List<BookingDtoResponse>> getOwnItemsBookings(
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(USER_HEADER) Long userId) {
         log.info("Booking Controller: Получен владелец бронирований. ID пользователя {}, Состояние {}", userId, state);
-        return bookingService.getOwnItemsBookings(BookingState.valueOf(state), userId, from, size);
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getOwnItemsBookings(BookingState.valueOf(state), userId, from, size));
+        }
+        return toCursorResponse(
+                bookingService.getOwnItemsBookingsByCursor(BookingState.valueOf(state), userId, cursor, size));
+    }
+
+    private static ResponseEntity<List<BookingDtoResponse>> toCursorResponse(BookingCursorDtoResponse page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
     }
 }
@@ -1,14 +1,17 @@
 package ru.practicum.shareit.booking;
 
 import lombok.experimental.UtilityClass;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingItemDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.dto.UserDtoResponse;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -22,21 +25,40 @@ public class BookingMapper {
         return booking;
     }
 
-    public static List<BookingDtoResponse> toBookingDtoResponsesList(List<Booking> bookings) {
+    public static BookingDtoResponse toBookingDtoResponse(Booking booking) {
+        UserDtoResponse userDtoResponse = UserMapper.toUserDto(booking.getBooker());
+        ItemDtoResponse itemDtoResponse = ItemMapper.toItemDto(booking.getItem());
+        BookingDtoResponse bookingDtoResponse = new BookingDtoResponse();
+        bookingDtoResponse.setId(booking.getId());
+        bookingDtoResponse.setStart(booking.getStart());
+        bookingDtoResponse.setEnd(booking.getEnd());
+        bookingDtoResponse.setItem(itemDtoResponse);
+        bookingDtoResponse.setBooker(userDtoResponse);
+        bookingDtoResponse.setStatus(booking.getStatus());
+        return bookingDtoResponse;
+    }
+
+    public static List<BookingDtoResponse> toBookingDtoResponsesList(List<BookingView> bookings) {
         return bookings.stream()
                 .map(BookingMapper::toBookingDtoResponse)
                 .collect(Collectors.toList());
     }
 
-    public static BookingDtoResponse toBookingDtoResponse(Booking booking) {
-        UserDtoResponse userDtoResponse = UserMapper.toUserDto(booking.getBooker());
-        ItemDtoResponse itemDtoResponse = ItemMapper.toItemDto(booking.getItem());
+    public static BookingDtoResponse toBookingDtoResponse(BookingView booking) {
+        ItemDtoResponse itemDtoResponse = new ItemDtoResponse();
+        itemDtoResponse.setId(booking.getItemId());
+        itemDtoResponse.setName(booking.getItemName());
+        itemDtoResponse.setDescription(booking.getItemDescription());
+        itemDtoResponse.setAvailable(booking.getItemAvailable());
+        itemDtoResponse.setComments(new ArrayList<>());
+        itemDtoResponse.setRequestId(booking.getItemRequestId());
         BookingDtoResponse bookingDtoResponse = new BookingDtoResponse();
         bookingDtoResponse.setId(booking.getId());
         bookingDtoResponse.setStart(booking.getStart());
         bookingDtoResponse.setEnd(booking.getEnd());
         bookingDtoResponse.setItem(itemDtoResponse);
-        bookingDtoResponse.setBooker(userDtoResponse);
+        bookingDtoResponse.setBooker(
+                new UserDtoResponse(booking.getBookerId(), booking.getBookerName(), booking.getBookerEmail()));
         bookingDtoResponse.setStatus(booking.getStatus());
         return bookingDtoResponse;
     }
@@ -52,4 +74,13 @@ public class BookingMapper {
                 booking.getEnd()
         );
     }
+
+    public static BookingItemDtoResponse toBookingItemDtoResponse(ArchivedBooking booking) {
+        return new BookingItemDtoResponse(
+                booking.getId(),
+                booking.getBooker().getId(),
+                booking.getStart(),
+                booking.getEnd()
+        );
+    }
 }
@@ -1,46 +1,71 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingItemDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingRef;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 
+import javax.persistence.LockModeType;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface BookingStorage extends JpaRepository<Booking, Long> {
-    Page<Booking> findByBookerId(Long bookerId, Pageable pageable);
+public interface BookingStorage extends JpaRepository<Booking, Long>, BookingStorageCustom {
+    @EntityGraph(attributePaths = {"item", "booker"})
+    Optional<Booking> findById(Long bookingId);
 
-    @Query("SELECT bc " +
+    String BOOKING_VIEW_COLUMNS = "SELECT new ru.practicum.shareit.booking.dto.BookingView(" +
+            "bc.id, bc.start, bc.end, bc.status, " +
+            "it.id, it.name, it.description, it.available, it.request.id, it.owner.id, " +
+            "bk.id, bk.name, bk.email) ";
+
+    String BOOKING_VIEW = BOOKING_VIEW_COLUMNS +
             "FROM Booking AS bc " +
-            "WHERE bc.booker.id = :bookerId " +
+            "JOIN bc.item AS it " +
+            "JOIN bc.booker AS bk ";
+
+    @Query(BOOKING_VIEW +
+            "WHERE bk.id = :bookerId " +
             "AND bc.start < :time " +
             "AND bc.end > :time " +
             "ORDER BY bc.start DESC")
-    Page<Booking> findByBookerIdCurrent(Long bookerId, LocalDateTime time, Pageable pageable);
+    Slice<BookingView> findByBookerIdCurrent(Long bookerId, LocalDateTime time, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime time, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "WHERE bk.id = :bookerId " +
+            "AND bc.start > :time")
+    Slice<BookingView> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime time, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime time, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "WHERE bk.id = :bookerId " +
+            "AND bc.status = :status")
+    Slice<BookingView> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
 
-    Page<Booking> findByBookerIdAndStatus(Long bookerId, BookingStatus status, Pageable pageable);
-
-    Page<Booking> findBookingByItemOwnerId(Long ownerId, Pageable pageable);
-
-    @Query("SELECT bc " +
-            "FROM Booking AS bc " +
-            "WHERE bc.item.owner.id = :ownerId " +
+    @Query(BOOKING_VIEW +
+            "WHERE it.owner.id = :ownerId " +
             "AND bc.start < :time " +
             "AND bc.end > :time " +
             "ORDER BY bc.start ASC")
-    Page<Booking> findBookingByItemOwnerCurrent(Long ownerId, LocalDateTime time, Pageable pageable);
-
-    Page<Booking> findBookingByItemOwnerIdAndEndIsBefore(Long ownerId, LocalDateTime time, Pageable pageable);
+    Slice<BookingView> findBookingByItemOwnerCurrent(Long ownerId, LocalDateTime time, Pageable pageable);
 
-    Page<Booking> findBookingByItemOwnerIdAndStartIsAfter(Long ownerId, LocalDateTime time, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "WHERE it.owner.id = :ownerId " +
+            "AND bc.start > :time")
+    Slice<BookingView> findBookingByItemOwnerIdAndStartIsAfter(Long ownerId, LocalDateTime time, Pageable pageable);
 
-    Page<Booking> findBookingByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
+    @Query(BOOKING_VIEW +
+            "WHERE it.owner.id = :ownerId " +
+            "AND bc.status = :status")
+    Slice<BookingView> findBookingByItemOwnerIdAndStatus(Long ownerId, BookingStatus status, Pageable pageable);
 
     @Query("SELECT bc " +
             "FROM Booking AS bc " +
@@ -49,22 +74,112 @@ public interface BookingStorage extends JpaRepository<Booking, Long> {
             "AND bc.end < :time")
     List<Booking> findBookingForComments(Long userId, Long itemId, LocalDateTime time);
 
-    @Query("SELECT bc " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingItemDtoResponse(bc.id, bc.booker.id, bc.start, bc.end) " +
             "FROM Booking AS bc " +
             "WHERE bc.start < :time " +
             "AND bc.item.owner.id = :userId " +
             "AND bc.item.id = :itemId " +
             "AND bc.status = 'APPROVED' " +
             "ORDER BY bc.start DESC")
-    List<Booking> getLastBooking(LocalDateTime time, Long userId, Long itemId);
+    List<BookingItemDtoResponse> getLastBooking(LocalDateTime time, Long userId, Long itemId, Pageable pageable);
 
-    @Query("SELECT bc " +
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingItemDtoResponse(bc.id, bc.booker.id, bc.start, bc.end) " +
             "FROM Booking AS bc " +
             "WHERE bc.start > :time " +
             "AND bc.item.owner.id = :userId " +
             "AND bc.item.id = :itemId " +
             "AND bc.status = 'APPROVED' " +
             "ORDER BY bc.start ASC")
-    List<Booking> getNextBooking(LocalDateTime time, Long userId, Long itemId);
+    List<BookingItemDtoResponse> getNextBooking(LocalDateTime time, Long userId, Long itemId, Pageable pageable);
+
+    @Query("SELECT bc " +
+            "FROM Booking AS bc " +
+            "WHERE bc.item.id IN :itemIds " +
+            "AND bc.status = 'APPROVED' " +
+            "AND bc.start = (SELECT max(lb.start) " +
+            "FROM Booking AS lb " +
+            "WHERE lb.item.id = bc.item.id " +
+            "AND lb.status = 'APPROVED' " +
+            "AND lb.start < :time)")
+    List<Booking> getLastBookings(Collection<Long> itemIds, LocalDateTime time);
 
+    @Query("SELECT bc " +
+            "FROM Booking AS bc " +
+            "WHERE bc.item.id IN :itemIds " +
+            "AND bc.status = 'APPROVED' " +
+            "AND bc.start = (SELECT min(nb.start) " +
+            "FROM Booking AS nb " +
+            "WHERE nb.item.id = bc.item.id " +
+            "AND nb.status = 'APPROVED' " +
+            "AND nb.start > :time)")
+    List<Booking> getNextBookings(Collection<Long> itemIds, LocalDateTime time);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingInterval(bc.id, bc.start, bc.end) " +
+            "FROM Booking AS bc " +
+            "WHERE bc.item.id = :itemId " +
+            "AND bc.status IN :statuses")
+    List<BookingInterval> findIntervalsByItemId(Long itemId, Collection<BookingStatus> statuses);
+
+    @Query(BOOKING_VIEW +
+            "WHERE bc.id = :bookingId")
+    Optional<BookingView> findViewById(Long bookingId);
+
+    @Query(BOOKING_VIEW +
+            "WHERE bc.id IN :bookingIds")
+    List<BookingView> findViewsByIdIn(Collection<Long> bookingIds);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking AS bc " +
+            "SET bc.status = :status, bc.version = bc.version + 1 " +
+            "WHERE bc.id = :bookingId " +
+            "AND bc.status = 'WAITING' " +
+            "AND bc.item IN (SELECT it FROM Item AS it WHERE it.owner.id = :ownerId)")
+    int updateStatusIfWaiting(Long bookingId, Long ownerId, BookingStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT bc.id " +
+            "FROM Booking AS bc " +
+            "WHERE bc.id IN :bookingIds " +
+            "AND bc.status = 'WAITING' " +
+            "AND bc.item IN (SELECT it FROM Item AS it WHERE it.owner.id = :ownerId) " +
+            "ORDER BY bc.id")
+    List<Long> lockWaitingIds(Collection<Long> bookingIds, Long ownerId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking AS bc " +
+            "SET bc.status = :status, bc.version = bc.version + 1 " +
+            "WHERE bc.id IN :bookingIds " +
+            "AND bc.status = 'WAITING' " +
+            "AND bc.item IN (SELECT it FROM Item AS it WHERE it.owner.id = :ownerId)")
+    int updateStatusesIfWaiting(Collection<Long> bookingIds, Long ownerId, BookingStatus status);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingRef(bc.id, bc.item.id) " +
+            "FROM Booking AS bc " +
+            "WHERE bc.status = 'WAITING' " +
+            "AND bc.id > :afterId " +
+            "AND bc.start < :time " +
+            "ORDER BY bc.id")
+    List<BookingRef> findWaitingStartedBefore(LocalDateTime time, Long afterId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking AS bc " +
+            "SET bc.status = 'CANCELED', bc.version = bc.version + 1 " +
+            "WHERE bc.id IN :bookingIds " +
+            "AND bc.status = 'WAITING' " +
+            "AND bc.start < :time")
+    int cancelWaitingStartedBefore(Collection<Long> bookingIds, LocalDateTime time);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingRef(bc.id, bc.item.id) " +
+            "FROM Booking AS bc " +
+            "WHERE bc.end < :time " +
+            "AND bc.status <> 'WAITING' " +
+            "AND bc.id > :afterId " +
+            "ORDER BY bc.id")
+    List<BookingRef> findEndedBefore(LocalDateTime time, Long afterId, Pageable pageable);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Booking AS bc " +
+            "WHERE bc.id IN :bookingIds")
+    int deleteByIdIn(Collection<Long> bookingIds);
 }
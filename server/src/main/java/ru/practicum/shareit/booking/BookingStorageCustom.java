@@ -0,0 +1,25 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.enums.BookingState;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+public interface BookingStorageCustom {
+    Set<BookingState> ARCHIVED_STATES = EnumSet.of(BookingState.ALL, BookingState.PAST, BookingState.REJECTED);
+
+    List<BookingView> findByBookerIdAfterCursor(Long bookerId, BookingState state, LocalDateTime time,
+                                            BookingCursor cursor, int limit);
+
+    List<BookingView> findByItemOwnerIdAfterCursor(Long ownerId, BookingState state, LocalDateTime time,
+                                               BookingCursor cursor, int limit);
+
+    List<BookingView> findByBookerIdWithArchive(Long bookerId, BookingState state, LocalDateTime time,
+                                                long offset, int limit);
+
+    List<BookingView> findByItemOwnerIdWithArchive(Long ownerId, BookingState state, LocalDateTime time,
+                                                   long offset, int limit);
+}
@@ -0,0 +1,180 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.archive.ArchivedBookingStorage;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.Tuple;
+import javax.persistence.TypedQuery;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class BookingStorageCustomImpl implements BookingStorageCustom {
+    private static final String VIEW_COLUMNS = "SELECT bc.booking_id, bc.start_date, bc.end_date, bc.status, " +
+            "it.item_id, it.item_name, it.description, it.is_available, it.request_id, it.owner_id, " +
+            "bk.user_id, bk.user_name, bk.email ";
+    private static final String VIEW_JOINS = " AS bc " +
+            "JOIN items AS it ON it.item_id = bc.item_id " +
+            "JOIN users AS bk ON bk.user_id = bc.booker_id ";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findByBookerIdAfterCursor(Long bookerId, BookingState state, LocalDateTime time,
+                                                   BookingCursor cursor, int limit) {
+        return findAfterCursor("bk.id = :userId", bookerId, state, time, cursor, limit);
+    }
+
+    @Override
+    public List<BookingView> findByItemOwnerIdAfterCursor(Long ownerId, BookingState state, LocalDateTime time,
+                                                      BookingCursor cursor, int limit) {
+        return findAfterCursor("it.owner.id = :userId", ownerId, state, time, cursor, limit);
+    }
+
+    @Override
+    public List<BookingView> findByBookerIdWithArchive(Long bookerId, BookingState state, LocalDateTime time,
+                                                       long offset, int limit) {
+        return findWithArchive("bc.booker_id = :userId", bookerId, state, time, offset, limit);
+    }
+
+    @Override
+    public List<BookingView> findByItemOwnerIdWithArchive(Long ownerId, BookingState state, LocalDateTime time,
+                                                          long offset, int limit) {
+        return findWithArchive("it.owner_id = :userId", ownerId, state, time, offset, limit);
+    }
+
+    private List<BookingView> findWithArchive(String userCondition, Long userId, BookingState state,
+                                              LocalDateTime time, long offset, int limit) {
+        StringBuilder where = new StringBuilder("WHERE ").append(userCondition);
+        switch (state) {
+            case ALL:
+                break;
+            case PAST:
+                where.append(" AND bc.end_date < :time");
+                break;
+            case REJECTED:
+                where.append(" AND bc.status = :status");
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Состояние %s не хранится в архиве", state));
+        }
+        String sql = "SELECT * FROM (" +
+                VIEW_COLUMNS + "FROM bookings" + VIEW_JOINS + where +
+                " UNION ALL " +
+                VIEW_COLUMNS + "FROM bookings_archive" + VIEW_JOINS + where +
+                ") AS v ORDER BY v.start_date DESC, v.booking_id DESC LIMIT :limit OFFSET :offset";
+
+        Query query = entityManager.createNativeQuery(sql, Tuple.class)
+                .setParameter("userId", userId)
+                .setParameter("limit", limit)
+                .setParameter("offset", offset);
+        if (state == BookingState.PAST) {
+            query.setParameter("time", time);
+        } else if (state == BookingState.REJECTED) {
+            query.setParameter("status", BookingStatus.REJECTED.name());
+        }
+        List<?> rows = query.getResultList();
+        return rows.stream()
+                .map(row -> toBookingView((Tuple) row))
+                .collect(Collectors.toList());
+    }
+
+    private static BookingView toBookingView(Tuple row) {
+        return new BookingView(
+                toLong(row.get(0)),
+                toLocalDateTime(row.get(1)),
+                toLocalDateTime(row.get(2)),
+                BookingStatus.valueOf((String) row.get(3)),
+                toLong(row.get(4)),
+                (String) row.get(5),
+                (String) row.get(6),
+                (Boolean) row.get(7),
+                toLong(row.get(8)),
+                toLong(row.get(9)),
+                toLong(row.get(10)),
+                (String) row.get(11),
+                (String) row.get(12));
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp ? ((Timestamp) value).toLocalDateTime() : (LocalDateTime) value;
+    }
+
+    private List<BookingView> findAfterCursor(String userCondition, Long userId, BookingState state,
+                                          LocalDateTime time, BookingCursor cursor, int limit) {
+        List<BookingView> bookings = findAfterCursor(BookingStorage.BOOKING_VIEW,
+                userCondition, userId, state, time, cursor, limit);
+        if (!ARCHIVED_STATES.contains(state)) {
+            return bookings;
+        }
+        List<BookingView> archived = findAfterCursor(ArchivedBookingStorage.ARCHIVED_BOOKING_VIEW,
+                userCondition, userId, state, time, cursor, limit);
+        if (archived.isEmpty()) {
+            return bookings;
+        }
+        return Stream.concat(bookings.stream(), archived.stream())
+                .sorted(BookingCursor.NEWEST_FIRST)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private List<BookingView> findAfterCursor(String view, String userCondition, Long userId, BookingState state,
+                                          LocalDateTime time, BookingCursor cursor, int limit) {
+        StringBuilder jpql = new StringBuilder(view)
+                .append("WHERE ").append(userCondition);
+        switch (state) {
+            case CURRENT:
+                jpql.append(" AND bc.start < :time AND bc.end > :time");
+                break;
+            case PAST:
+                jpql.append(" AND bc.end < :time");
+                break;
+            case FUTURE:
+                jpql.append(" AND bc.start > :time");
+                break;
+            case WAITING:
+            case REJECTED:
+                jpql.append(" AND bc.status = :status");
+                break;
+            default:
+        }
+        if (cursor != null) {
+            jpql.append(" AND (bc.start < :cursorStart " +
+                    "OR (bc.start = :cursorStart AND bc.id < :cursorId))");
+        }
+        jpql.append(" ORDER BY bc.start DESC, bc.id DESC");
+
+        TypedQuery<BookingView> query = entityManager.createQuery(jpql.toString(), BookingView.class)
+                .setParameter("userId", userId)
+                .setMaxResults(limit);
+        switch (state) {
+            case CURRENT:
+            case PAST:
+            case FUTURE:
+                query.setParameter("time", time);
+                break;
+            case WAITING:
+            case REJECTED:
+                query.setParameter("status", BookingStatus.valueOf(state.name()));
+                break;
+            default:
+        }
+        if (cursor != null) {
+            query.setParameter("cursorStart", cursor.getStart())
+                    .setParameter("cursorId", cursor.getId());
+        }
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.archive;
+
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Immutable
+@Table(name = "bookings_archive")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedBooking {
+
+    @Id
+    @Column(name = "booking_id", nullable = false)
+    private Long id;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDateTime start;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDateTime end;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "item_id", nullable = false)
+    private Item item;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "booker_id", nullable = false)
+    private User booker;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private BookingStatus status;
+}
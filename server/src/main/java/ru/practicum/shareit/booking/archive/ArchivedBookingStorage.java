@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking.archive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.dto.BookingItemDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ArchivedBookingStorage extends JpaRepository<ArchivedBooking, Long>, ArchivedBookingStorageCustom {
+    String ARCHIVED_BOOKING_VIEW = BookingStorage.BOOKING_VIEW_COLUMNS +
+            "FROM ArchivedBooking AS bc " +
+            "JOIN bc.item AS it " +
+            "JOIN bc.booker AS bk ";
+
+    @Query(ARCHIVED_BOOKING_VIEW +
+            "WHERE bc.id = :bookingId")
+    Optional<BookingView> findViewById(Long bookingId);
+
+    boolean existsByBookerIdAndItemIdAndEndBefore(Long bookerId, Long itemId, LocalDateTime time);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingItemDtoResponse(bc.id, bc.booker.id, bc.start, bc.end) " +
+            "FROM ArchivedBooking AS bc " +
+            "WHERE bc.item.owner.id = :userId " +
+            "AND bc.item.id = :itemId " +
+            "AND bc.status = 'APPROVED' " +
+            "ORDER BY bc.start DESC")
+    List<BookingItemDtoResponse> getLastBooking(Long userId, Long itemId, Pageable pageable);
+
+    @Query("SELECT bc " +
+            "FROM ArchivedBooking AS bc " +
+            "WHERE bc.item.id IN :itemIds " +
+            "AND bc.status = 'APPROVED' " +
+            "AND bc.start = (SELECT max(lb.start) " +
+            "FROM ArchivedBooking AS lb " +
+            "WHERE lb.item.id = bc.item.id " +
+            "AND lb.status = 'APPROVED')")
+    List<ArchivedBooking> getLastBookings(Collection<Long> itemIds);
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.archive;
+
+import java.util.Collection;
+
+public interface ArchivedBookingStorageCustom {
+
+    int copyFromBookings(Collection<Long> bookingIds);
+}
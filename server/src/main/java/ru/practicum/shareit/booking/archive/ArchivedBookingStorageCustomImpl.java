@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.archive;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Collection;
+
+public class ArchivedBookingStorageCustomImpl implements ArchivedBookingStorageCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int copyFromBookings(Collection<Long> bookingIds) {
+        return entityManager.createNativeQuery("INSERT INTO bookings_archive " +
+                        "(booking_id, start_date, end_date, item_id, booker_id, status) " +
+                        "SELECT bc.booking_id, bc.start_date, bc.end_date, bc.item_id, bc.booker_id, bc.status " +
+                        "FROM bookings AS bc " +
+                        "WHERE bc.booking_id IN :bookingIds")
+                .setParameter("bookingIds", bookingIds)
+                .executeUpdate();
+    }
+}
@@ -0,0 +1,91 @@
+package ru.practicum.shareit.booking.archive;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.dto.BookingRef;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class BookingArchiveJob {
+    private final BookingStorage bookingStorage;
+    private final ArchivedBookingStorage archivedBookingStorage;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final Pageable batch;
+    private final Counter archived;
+    private final Timer runTime;
+
+    public BookingArchiveJob(BookingStorage bookingStorage,
+                             ArchivedBookingStorage archivedBookingStorage,
+                             BookingIntervalIndex bookingIntervalIndex,
+                             TransactionTemplate transactionTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${shareit.booking-archive.retention:P30D}") Duration retention,
+                             @Value("${shareit.booking-archive.batch-size:500}") int batchSize) {
+        this.bookingStorage = bookingStorage;
+        this.archivedBookingStorage = archivedBookingStorage;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.batch = PageRequest.of(0, batchSize);
+        this.archived = Counter.builder("bookings.archived")
+                .description("Ended bookings moved to the archive table")
+                .register(meterRegistry);
+        this.runTime = Timer.builder("bookings.archive")
+                .description("Run time of the bookings archive job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-archive.fixed-delay:PT1H}",
+            initialDelayString = "${shareit.booking-archive.fixed-delay:PT1H}")
+    public int archive() {
+        return runTime.record(() -> {
+            LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+            long lastId = 0;
+            int total = 0;
+            List<BookingRef> bookings;
+            do {
+                long afterId = lastId;
+                bookings = transactionTemplate.execute(status -> archiveBatch(cutoff, afterId));
+                if (!bookings.isEmpty()) {
+                    lastId = bookings.get(bookings.size() - 1).getId();
+                }
+                total += bookings.size();
+            } while (bookings.size() == batch.getPageSize());
+            log.info("Booking Archive Job: Завершенные бронирования перенесены в архив. Количество: {}", total);
+            return total;
+        });
+    }
+
+    private List<BookingRef> archiveBatch(LocalDateTime cutoff, long afterId) {
+        List<BookingRef> bookings = bookingStorage.findEndedBefore(cutoff, afterId, batch);
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+        List<Long> ids = bookings.stream()
+                .map(BookingRef::getId)
+                .collect(Collectors.toList());
+        archivedBookingStorage.copyFromBookings(ids);
+        archived.increment(bookingStorage.deleteByIdIn(ids));
+        bookingIntervalIndex.evictAfterCommit(bookings.stream()
+                .map(BookingRef::getItemId)
+                .collect(Collectors.toSet()));
+        return bookings;
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class BookingCursorDtoResponse {
+
+    private List<BookingDtoResponse> bookings;
+
+    private String nextCursor;
+
+}
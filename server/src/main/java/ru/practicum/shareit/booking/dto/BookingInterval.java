@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@Getter
+public class BookingInterval {
+
+    private final Long id;
+
+    private final LocalDateTime start;
+
+    private final LocalDateTime end;
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.*;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+
+import java.time.LocalDateTime;
+
+@AllArgsConstructor
+@Getter
+public class BookingView {
+
+    private Long id;
+
+    private LocalDateTime start;
+
+    private LocalDateTime end;
+
+    private BookingStatus status;
+
+    private Long itemId;
+
+    private String itemName;
+
+    private String itemDescription;
+
+    private Boolean itemAvailable;
+
+    private Long itemRequestId;
+
+    private Long itemOwnerId;
+
+    private Long bookerId;
+
+    private String bookerName;
+
+    private String bookerEmail;
+}
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.booking.expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.dto.BookingRef;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class WaitingBookingExpiryJob {
+    private final BookingStorage bookingStorage;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final Pageable batch;
+    private final Counter expired;
+    private final Timer runTime;
+
+    public WaitingBookingExpiryJob(BookingStorage bookingStorage,
+                                   BookingIntervalIndex bookingIntervalIndex,
+                                   TransactionTemplate transactionTemplate,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${shareit.booking-expiry.batch-size:500}") int batchSize) {
+        this.bookingStorage = bookingStorage;
+        this.bookingIntervalIndex = bookingIntervalIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.batch = PageRequest.of(0, batchSize);
+        this.expired = Counter.builder("bookings.expired")
+                .description("WAITING bookings moved to CANCELED after their start")
+                .register(meterRegistry);
+        this.runTime = Timer.builder("bookings.expiry")
+                .description("Run time of the WAITING bookings expiry job")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking-expiry.fixed-delay:PT5M}",
+            initialDelayString = "${shareit.booking-expiry.fixed-delay:PT5M}")
+    public int expire() {
+        return runTime.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            long lastId = 0;
+            int total = 0;
+            List<BookingRef> bookings;
+            do {
+                long afterId = lastId;
+                bookings = transactionTemplate.execute(status -> expireBatch(now, afterId));
+                if (!bookings.isEmpty()) {
+                    lastId = bookings.get(bookings.size() - 1).getId();
+                }
+                total += bookings.size();
+            } while (bookings.size() == batch.getPageSize());
+            log.info("Booking Expiry Job: Просроченные бронирования обработаны. Количество: {}", total);
+            return total;
+        });
+    }
+
+    private List<BookingRef> expireBatch(LocalDateTime now, long afterId) {
+        List<BookingRef> bookings = bookingStorage.findWaitingStartedBefore(now, afterId, batch);
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+        List<Long> ids = bookings.stream()
+                .map(BookingRef::getId)
+                .collect(Collectors.toList());
+        int updated = bookingStorage.cancelWaitingStartedBefore(ids, now);
+        expired.increment(updated);
+        bookingIntervalIndex.evictAfterCommit(bookings.stream()
+                .map(BookingRef::getItemId)
+                .collect(Collectors.toSet()));
+        return bookings;
+    }
+}
@@ -0,0 +1,222 @@
+package ru.practicum.shareit.booking.interval;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.FreeSlotDtoResponse;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.exception.BookingException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+@Component
+@Slf4j
+public class BookingIntervalIndex {
+    private static final List<BookingStatus> ACTIVE_STATUSES = List.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+    private static final int LOCK_STRIPES = 1024;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Map<Long, Map<Long, BookingInterval>> pending = new ConcurrentHashMap<>();
+    private final LoadingCache<Long, ItemIntervals> items;
+
+    public BookingIntervalIndex(BookingStorage bookingStorage,
+                                @Value("${shareit.booking-interval-index.maximum-size:10000}") long maximumSize) {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build(itemId -> load(bookingStorage, itemId));
+    }
+
+    public Booking reserve(Booking booking, UnaryOperator<Booking> save) {
+        Long itemId = booking.getItem().getId();
+        synchronized (lock(itemId)) {
+            ItemIntervals intervals = items.get(itemId);
+            if (intervals.overlaps(booking.getStart(), booking.getEnd())) {
+                throw new BookingException(String.format(
+                        "Вещь с ID %s уже забронирована на период с %s по %s",
+                        itemId, booking.getStart(), booking.getEnd()));
+            }
+            Booking result = save.apply(booking);
+            intervals.add(result.getId(), result.getStart(), result.getEnd());
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                pending.computeIfAbsent(itemId, id -> new HashMap<>())
+                        .put(result.getId(), new BookingInterval(result.getId(), result.getStart(), result.getEnd()));
+                afterCompletion(committed -> complete(itemId, result.getId(), committed));
+            }
+            return result;
+        }
+    }
+
+    public List<FreeSlotDtoResponse> getFreeSlots(Long itemId, LocalDateTime from, LocalDateTime to) {
+        synchronized (lock(itemId)) {
+            return items.get(itemId).freeSlots(from, to);
+        }
+    }
+
+    public void releaseAfterCommit(Long itemId, Long bookingId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    release(itemId, bookingId);
+                }
+            });
+        } else {
+            release(itemId, bookingId);
+        }
+    }
+
+    public void evictAfterCommit(Collection<Long> itemIds) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    items.invalidateAll(itemIds);
+                }
+            });
+        } else {
+            items.invalidateAll(itemIds);
+        }
+    }
+
+    private ItemIntervals load(BookingStorage bookingStorage, Long itemId) {
+        ItemIntervals intervals = new ItemIntervals(bookingStorage.findIntervalsByItemId(itemId, ACTIVE_STATUSES));
+        pending.getOrDefault(itemId, Map.of()).values()
+                .forEach(interval -> intervals.add(interval.getId(), interval.getStart(), interval.getEnd()));
+        return intervals;
+    }
+
+    private void complete(Long itemId, Long bookingId, boolean committed) {
+        synchronized (lock(itemId)) {
+            Map<Long, BookingInterval> reserved = pending.get(itemId);
+            if (reserved != null) {
+                reserved.remove(bookingId);
+                if (reserved.isEmpty()) {
+                    pending.remove(itemId);
+                }
+            }
+            if (!committed) {
+                release(itemId, bookingId);
+            }
+        }
+    }
+
+    private void release(Long itemId, Long bookingId) {
+        synchronized (lock(itemId)) {
+            ItemIntervals intervals = items.getIfPresent(itemId);
+            if (intervals == null) {
+                return;
+            }
+            intervals.remove(bookingId);
+        }
+        log.debug("Booking Interval Index: Период освобожден. ID вещи {}, ID бронирования {}", itemId, bookingId);
+    }
+
+    private Object lock(Long itemId) {
+        return locks[Math.floorMod(itemId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static void afterCompletion(Consumer<Boolean> action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    private static class ItemIntervals {
+        private static final Comparator<BookingInterval> BY_START = Comparator.comparing(BookingInterval::getStart)
+                .thenComparing(BookingInterval::getId);
+        private final Map<Long, BookingInterval> bookings = new HashMap<>();
+        private final TreeSet<BookingInterval> byStart = new TreeSet<>(BY_START);
+        private final TreeMap<LocalDateTime, LocalDateTime> coverage = new TreeMap<>();
+
+        ItemIntervals(List<BookingInterval> intervals) {
+            intervals.forEach(interval -> add(interval.getId(), interval.getStart(), interval.getEnd()));
+        }
+
+        boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> lower = coverage.lowerEntry(end);
+            return lower != null && lower.getValue().isAfter(start);
+        }
+
+        List<FreeSlotDtoResponse> freeSlots(LocalDateTime from, LocalDateTime to) {
+            List<FreeSlotDtoResponse> result = new ArrayList<>();
+            LocalDateTime cursor = from;
+            Map.Entry<LocalDateTime, LocalDateTime> lower = coverage.lowerEntry(from);
+            if (lower != null && lower.getValue().isAfter(cursor)) {
+                cursor = lower.getValue();
+            }
+            for (Map.Entry<LocalDateTime, LocalDateTime> busy : coverage.subMap(from, true, to, false).entrySet()) {
+                if (busy.getKey().isAfter(cursor)) {
+                    result.add(new FreeSlotDtoResponse(cursor, busy.getKey()));
+                }
+                cursor = max(cursor, busy.getValue());
+            }
+            if (cursor.isBefore(to)) {
+                result.add(new FreeSlotDtoResponse(cursor, to));
+            }
+            return result;
+        }
+
+        void add(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            BookingInterval interval = new BookingInterval(bookingId, start, end);
+            bookings.put(bookingId, interval);
+            byStart.add(interval);
+            cover(start, end);
+        }
+
+        void remove(Long bookingId) {
+            BookingInterval interval = bookings.remove(bookingId);
+            if (interval == null) {
+                return;
+            }
+            byStart.remove(interval);
+            Map.Entry<LocalDateTime, LocalDateTime> segment = coverage.floorEntry(interval.getStart());
+            coverage.remove(segment.getKey());
+            byStart.subSet(new BookingInterval(Long.MIN_VALUE, segment.getKey(), null), true,
+                            new BookingInterval(Long.MIN_VALUE, segment.getValue(), null), false)
+                    .forEach(rest -> cover(rest.getStart(), rest.getEnd()));
+        }
+
+        private void cover(LocalDateTime start, LocalDateTime end) {
+            Map.Entry<LocalDateTime, LocalDateTime> floor = coverage.floorEntry(start);
+            if (floor != null && floor.getValue().isAfter(start)) {
+                start = floor.getKey();
+                end = max(end, floor.getValue());
+                coverage.remove(floor.getKey());
+            }
+            Map.Entry<LocalDateTime, LocalDateTime> next = coverage.ceilingEntry(start);
+            while (next != null && next.getKey().isBefore(end)) {
+                end = max(end, next.getValue());
+                coverage.remove(next.getKey());
+                next = coverage.ceilingEntry(start);
+            }
+            coverage.put(start, end);
+        }
+
+        private static LocalDateTime max(LocalDateTime first, LocalDateTime second) {
+            return first.isAfter(second) ? first : second;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingCursorDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.enums.BookingState;
@@ -10,11 +12,19 @@ public interface BookingService {
 
     BookingDtoResponse createBooking(BookingDtoRequest bookingDtoRequest, Long userId);
 
+    List<BookingBatchDtoResponse> createBookings(List<BookingDtoRequest> bookingDtoRequests, Long userId);
+
     BookingDtoResponse changeState(Long bookingId, Boolean approved, Long userId);
 
+    List<BookingBatchDtoResponse> changeStates(List<Long> bookingIds, Boolean approved, Long userId);
+
     BookingDtoResponse getBooking(Long bookingId, Long userId);
 
     List<BookingDtoResponse> getOwnBookings(BookingState state, Long userId, Integer from, Integer size);
 
     List<BookingDtoResponse> getOwnItemsBookings(BookingState state, Long userId, Integer from, Integer size);
+
+    BookingCursorDtoResponse getOwnBookingsByCursor(BookingState state, Long userId, String cursor, Integer size);
+
+    BookingCursorDtoResponse getOwnItemsBookingsByCursor(BookingState state, Long userId, String cursor, Integer size);
 }
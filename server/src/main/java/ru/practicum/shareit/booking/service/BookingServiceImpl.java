@@ -8,22 +8,39 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingCursor;
 import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.archive.ArchivedBookingStorage;
+import ru.practicum.shareit.booking.dto.BookingBatchDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingCursorDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserStorage;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -32,6 +49,9 @@ public class BookingServiceImpl implements BookingService {
     private final BookingStorage bookingStorage;
     private final ItemStorage itemStorage;
     private final UserStorage userStorage;
+    private final ItemViewCache itemViewCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ArchivedBookingStorage archivedBookingStorage;
 
     @Transactional
     @Override
@@ -41,49 +61,132 @@ public class BookingServiceImpl implements BookingService {
                         "Вещь с ID %s не существует", bookingDtoRequest.getItemId())));
         User user = userStorage.findById(userId)
                 .orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID %s не существует", userId)));
-        if (userId.equals(item.getOwner().getId())) {
-            throw new NotFoundException("Вы не можете забронировать свою же вещь!");
-        }
-        if (!item.getAvailable()) {
-            throw new BookingException("Вещь недоступна для бронирования");
-        }
-        Booking booking = BookingMapper.toBooking(bookingDtoRequest);
-        booking.setItem(item);
-        booking.setBooker(user);
-        booking.setStatus(BookingStatus.WAITING);
-        Booking result = bookingStorage.save(booking);
+        checkItemBookable(item, userId);
+        Booking result = bookingIntervalIndex.reserve(toNewBooking(bookingDtoRequest, item, user), bookingStorage::save);
+        itemViewCache.invalidate(item.getId());
         return BookingMapper.toBookingDtoResponse(result);
     }
 
+    @Transactional
+    @Override
+    public List<BookingBatchDtoResponse> createBookings(List<BookingDtoRequest> bookingDtoRequests, Long userId) {
+        User user = userStorage.findById(userId)
+                .orElseThrow(() -> new NotFoundException(String.format("Пользователь с ID %s не существует", userId)));
+        Set<Long> itemIds = bookingDtoRequests.stream()
+                .filter(Objects::nonNull)
+                .map(BookingDtoRequest::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemStorage.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        LocalDateTime now = LocalDateTime.now();
+        List<BookingBatchDtoResponse> result = new ArrayList<>();
+        Map<Integer, Booking> accepted = new LinkedHashMap<>();
+        for (int i = 0; i < bookingDtoRequests.size(); i++) {
+            BookingDtoRequest bookingDtoRequest = bookingDtoRequests.get(i);
+            try {
+                if (bookingDtoRequest == null) {
+                    throw new BookingException("Бронирование не должно быть пустым");
+                }
+                if (bookingDtoRequest.getItemId() == null) {
+                    throw new BookingException("ID вещи не должен быть пустым");
+                }
+                checkDates(bookingDtoRequest, now);
+                Item item = items.get(bookingDtoRequest.getItemId());
+                if (item == null) {
+                    throw new NotFoundException(String.format(
+                            "Вещь с ID %s не существует", bookingDtoRequest.getItemId()));
+                }
+                checkItemBookable(item, userId);
+                accepted.put(i, bookingIntervalIndex.reserve(
+                        toNewBooking(bookingDtoRequest, item, user), bookingStorage::save));
+            } catch (NotFoundException | BookingException e) {
+                result.add(BookingBatchDtoResponse.builder().index(i).error(e.getMessage()).build());
+            }
+        }
+        accepted.forEach((index, booking) -> result.add(BookingBatchDtoResponse.builder()
+                .index(index)
+                .booking(BookingMapper.toBookingDtoResponse(booking))
+                .build()));
+        accepted.values().stream()
+                .map(booking -> booking.getItem().getId())
+                .distinct()
+                .forEach(itemViewCache::invalidate);
+        result.sort(Comparator.comparingInt(BookingBatchDtoResponse::getIndex));
+        log.info("Booking Service: Пакет бронирований обработан. Создано: {}, отклонено: {}",
+                accepted.size(), result.size() - accepted.size());
+        return result;
+    }
+
     @Transactional
     @Override
     public BookingDtoResponse changeState(Long bookingId, Boolean approved, Long userId) {
-        Booking booking = bookingStorage.findById(bookingId)
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        int updated = bookingStorage.updateStatusIfWaiting(bookingId, userId, status);
+        BookingView booking = bookingStorage.findViewById(bookingId)
                 .orElseThrow(() -> new NotFoundException(String.format("Бронирования с ID %s не существует", bookingId)));
-        if (!booking.getItem().getOwner().getId().equals(userId)) {
-            throw new NotFoundException(String.format("Пользователь с ID %s не является владельцем", userId));
+        if (updated == 0) {
+            throw stateChangeRejected(booking, userId);
         }
-        if (booking.getStatus() == BookingStatus.APPROVED) {
-            throw new BookingException("Невозможно подтвердить подтвержденное бронирование");
-        }
-        if (approved) {
-            booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+        if (!approved) {
+            bookingIntervalIndex.releaseAfterCommit(booking.getItemId(), bookingId);
         }
+        itemViewCache.invalidate(booking.getItemId());
+        log.info("Booking Service: Статус бронирования изменен. ID бронирования {}, статус {}", bookingId, status);
         return BookingMapper.toBookingDtoResponse(booking);
     }
 
+    @Transactional
+    @Override
+    public List<BookingBatchDtoResponse> changeStates(List<Long> bookingIds, Boolean approved, Long userId) {
+        BookingStatus status = approved ? BookingStatus.APPROVED : BookingStatus.REJECTED;
+        Set<Long> changed = new HashSet<>(bookingStorage.lockWaitingIds(bookingIds, userId));
+        if (!changed.isEmpty()) {
+            bookingStorage.updateStatusesIfWaiting(changed, userId, status);
+        }
+        Map<Long, BookingView> bookings = toViewsById(bookingStorage.findViewsByIdIn(bookingIds));
+        List<BookingBatchDtoResponse> result = new ArrayList<>();
+        Set<Long> changedItems = new HashSet<>();
+        for (int i = 0; i < bookingIds.size(); i++) {
+            Long bookingId = bookingIds.get(i);
+            BookingView booking = bookings.get(bookingId);
+            BookingBatchDtoResponse.BookingBatchDtoResponseBuilder outcome = BookingBatchDtoResponse.builder().index(i);
+            if (booking == null) {
+                outcome.error(String.format("Бронирования с ID %s не существует", bookingId));
+            } else if (changed.remove(bookingId)) {
+                outcome.booking(BookingMapper.toBookingDtoResponse(booking));
+                changedItems.add(booking.getItemId());
+                if (!approved) {
+                    bookingIntervalIndex.releaseAfterCommit(booking.getItemId(), bookingId);
+                }
+            } else {
+                outcome.error(stateChangeRejected(booking, userId).getMessage());
+            }
+            result.add(outcome.build());
+        }
+        changedItems.forEach(itemViewCache::invalidate);
+        long succeeded = result.stream()
+                .filter(outcome -> outcome.getBooking() != null)
+                .count();
+        log.info("Booking Service: Пакетное изменение состояния обработано. Изменено: {}, отклонено: {}",
+                succeeded, result.size() - succeeded);
+        return result;
+    }
+
     @Transactional(readOnly = true)
     @Override
     public BookingDtoResponse getBooking(Long bookingId, Long userId) {
-        Booking booking = bookingStorage.findById(bookingId)
-                .orElseThrow(() -> new NotFoundException(String.format("Бронирования с ID %s не существует", bookingId)));
-        if (!booking.getItem().getOwner().getId().equals(userId) && !booking.getBooker().getId().equals(userId)) {
-            throw new NotFoundException(
-                    String.format("Бронирование с ID %s сейчас недоступно для пользователя с ID %s", bookingId, userId));
+        Optional<Booking> booking = bookingStorage.findById(bookingId);
+        if (booking.isEmpty()) {
+            BookingView archived = archivedBookingStorage.findViewById(bookingId)
+                    .orElseThrow(() -> new NotFoundException(String.format(
+                            "Бронирования с ID %s не существует", bookingId)));
+            checkBookingAccess(bookingId, archived.getItemOwnerId(), archived.getBookerId(), userId);
+            return BookingMapper.toBookingDtoResponse(archived);
         }
-        return BookingMapper.toBookingDtoResponse(booking);
+        checkBookingAccess(bookingId, booking.get().getItem().getOwner().getId(),
+                booking.get().getBooker().getId(), userId);
+        return BookingMapper.toBookingDtoResponse(booking.get());
     }
 
     @Transactional(readOnly = true)
@@ -93,25 +196,22 @@ public class BookingServiceImpl implements BookingService {
         Sort sort = Sort.by("start").descending();
         LocalDateTime time = LocalDateTime.now();
         Pageable pageable = PageRequest.of(from / size, size, sort);
-        List<Booking> bookings = new ArrayList<>();
+        List<BookingView> bookings = new ArrayList<>();
         switch (state) {
             case ALL:
-                bookings = bookingStorage.findByBookerId(userId, pageable).toList();
+            case PAST:
+            case REJECTED:
+                bookings = bookingStorage.findByBookerIdWithArchive(
+                        userId, state, time, pageable.getOffset(), pageable.getPageSize());
                 break;
             case CURRENT:
                 bookings = bookingStorage.findByBookerIdCurrent(userId, time, pageable).toList();
                 break;
-            case PAST:
-                bookings = bookingStorage.findByBookerIdAndEndIsBefore(userId, time, pageable).toList();
-                break;
             case FUTURE:
                 bookings = bookingStorage.findByBookerIdAndStartIsAfter(userId, time, pageable).toList();
                 break;
             case WAITING:
                 bookings = bookingStorage.findByBookerIdAndStatus(userId, BookingStatus.WAITING, pageable).toList();
-                break;
-            case REJECTED:
-                bookings = bookingStorage.findByBookerIdAndStatus(userId, BookingStatus.REJECTED, pageable).toList();
         }
         log.info("Booking Service: Владелец бронирований найден. Количество: {}", bookings.size());
         return BookingMapper.toBookingDtoResponsesList(bookings);
@@ -124,32 +224,122 @@ public class BookingServiceImpl implements BookingService {
         Sort sort = Sort.by("start").descending();
         LocalDateTime time = LocalDateTime.now();
         Pageable pageable = PageRequest.of(from / size, size, sort);
-        List<Booking> bookings = new ArrayList<>();
+        List<BookingView> bookings = new ArrayList<>();
         switch (state) {
             case ALL:
-                bookings = bookingStorage.findBookingByItemOwnerId(userId, pageable).toList();
+            case PAST:
+            case REJECTED:
+                bookings = bookingStorage.findByItemOwnerIdWithArchive(
+                        userId, state, time, pageable.getOffset(), pageable.getPageSize());
                 break;
             case CURRENT:
                 bookings = bookingStorage.findBookingByItemOwnerCurrent(userId, time, pageable).toList();
                 break;
-            case PAST:
-                bookings = bookingStorage.findBookingByItemOwnerIdAndEndIsBefore(userId, time, pageable).toList();
-                break;
             case FUTURE:
                 bookings = bookingStorage.findBookingByItemOwnerIdAndStartIsAfter(userId, time, pageable).toList();
                 break;
             case WAITING:
                 bookings = bookingStorage.findBookingByItemOwnerIdAndStatus(
                         userId, BookingStatus.WAITING, pageable).toList();
-                break;
-            case REJECTED:
-                bookings = bookingStorage.findBookingByItemOwnerIdAndStatus(
-                        userId, BookingStatus.REJECTED, pageable).toList();
         }
         log.info("Booking Service: Бронирования владельца найдены. Количество бронирований: {}", bookings.size());
         return BookingMapper.toBookingDtoResponsesList(bookings);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public BookingCursorDtoResponse getOwnBookingsByCursor(BookingState state, Long userId,
+                                                           String cursor, Integer size) {
+        checkUserExist(userId);
+        BookingCursor after = BookingCursor.decode(cursor);
+        checkPageSize(size);
+        List<BookingView> bookings = bookingStorage.findByBookerIdAfterCursor(
+                userId, state, LocalDateTime.now(), after, size + 1);
+        log.info("Booking Service: Владелец бронирований найден. Количество: {}", Math.min(bookings.size(), size));
+        return toCursorPage(bookings, size);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public BookingCursorDtoResponse getOwnItemsBookingsByCursor(BookingState state, Long userId,
+                                                                String cursor, Integer size) {
+        checkUserExist(userId);
+        BookingCursor after = BookingCursor.decode(cursor);
+        checkPageSize(size);
+        List<BookingView> bookings = bookingStorage.findByItemOwnerIdAfterCursor(
+                userId, state, LocalDateTime.now(), after, size + 1);
+        log.info("Booking Service: Бронирования владельца найдены. Количество бронирований: {}",
+                Math.min(bookings.size(), size));
+        return toCursorPage(bookings, size);
+    }
+
+    private BookingCursorDtoResponse toCursorPage(List<BookingView> bookings, Integer size) {
+        String nextCursor = null;
+        if (bookings.size() > size) {
+            bookings = bookings.subList(0, size);
+            nextCursor = BookingCursor.of(bookings.get(size - 1)).encode();
+        }
+        return new BookingCursorDtoResponse(BookingMapper.toBookingDtoResponsesList(bookings), nextCursor);
+    }
+
+    private static void checkPageSize(Integer size) {
+        if (size == null || size < 1) {
+            throw new ValidationException(String.format("Размер страницы должен быть больше нуля: %s", size));
+        }
+    }
+
+    private static void checkBookingAccess(Long bookingId, Long ownerId, Long bookerId, Long userId) {
+        if (!ownerId.equals(userId) && !bookerId.equals(userId)) {
+            throw new NotFoundException(
+                    String.format("Бронирование с ID %s сейчас недоступно для пользователя с ID %s", bookingId, userId));
+        }
+    }
+
+    private static Map<Long, BookingView> toViewsById(List<BookingView> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(BookingView::getId, Function.identity()));
+    }
+
+    private static RuntimeException stateChangeRejected(BookingView booking, Long userId) {
+        if (!booking.getItemOwnerId().equals(userId)) {
+            return new NotFoundException(String.format("Пользователь с ID %s не является владельцем", userId));
+        }
+        if (booking.getStatus() == BookingStatus.APPROVED) {
+            return new BookingException("Невозможно подтвердить подтвержденное бронирование");
+        }
+        return new BookingException(String.format(
+                "Невозможно изменить бронирование в статусе %s", booking.getStatus()));
+    }
+
+    private static void checkItemBookable(Item item, Long userId) {
+        if (userId.equals(item.getOwner().getId())) {
+            throw new NotFoundException("Вы не можете забронировать свою же вещь!");
+        }
+        if (!item.getAvailable()) {
+            throw new BookingException("Вещь недоступна для бронирования");
+        }
+    }
+
+    private static void checkDates(BookingDtoRequest bookingDtoRequest, LocalDateTime now) {
+        if (bookingDtoRequest.getStart() == null || bookingDtoRequest.getEnd() == null) {
+            throw new BookingException("Начало и окончание бронирования не должны быть пустыми");
+        }
+        if (bookingDtoRequest.getStart().isBefore(now)) {
+            throw new BookingException("Начало бронирования в прошлом");
+        }
+        if (!bookingDtoRequest.getEnd().isAfter(bookingDtoRequest.getStart())) {
+            throw new BookingException("Окончание бронирования должно быть позже начала бронирования");
+        }
+    }
+
+    private static Booking toNewBooking(BookingDtoRequest bookingDtoRequest, Item item, User user) {
+        Booking booking = BookingMapper.toBooking(bookingDtoRequest);
+        booking.setItem(item);
+        booking.setBooker(user);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
     private void checkUserExist(Long userId) {
         if (!userStorage.existsUserById(userId)) {
             throw new NotFoundException(String.format("Пользователь с ID %s не существует", userId));
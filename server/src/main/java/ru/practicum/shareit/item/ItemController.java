@@ -2,15 +2,20 @@ package ru.practicum.shareit.item;
 
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.springframework.format.annotation.DateTimeFormat.ISO.DATE_TIME;
+
 @RestController
 @RequestMapping(path = "/items")
 @AllArgsConstructor
@@ -59,6 +64,15 @@ public class ItemController {
         return itemService.searchItems(text, userId, from, size);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDtoResponse getAvailability(@PathVariable long itemId,
+                                                       @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime from,
+                                                       @RequestParam @DateTimeFormat(iso = DATE_TIME) LocalDateTime to,
+                                                       @RequestHeader(USER_HEADER) Long userId) {
+        log.info("Item Controller: Получены свободные периоды. ID пользователя: {}, ID вещи: {}", userId, itemId);
+        return itemService.getAvailability(itemId, from, to, userId);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDtoResponse createComment(@RequestBody CommentDtoRequest commentDtoRequest,
                                             @PathVariable long itemId,
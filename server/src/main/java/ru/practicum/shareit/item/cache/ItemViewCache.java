@@ -0,0 +1,115 @@
+package ru.practicum.shareit.item.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@Slf4j
+public class ItemViewCache {
+    private final Cache<Long, CachedView> publicViews;
+    private final Cache<Long, CachedView> ownerViews;
+    private final AtomicLong version = new AtomicLong();
+    private final Duration ttl;
+
+    public ItemViewCache(MeterRegistry meterRegistry,
+                         @Value("${shareit.item-view-cache.maximum-size:10000}") long maximumSize,
+                         @Value("${shareit.item-view-cache.ttl:10m}") Duration ttl) {
+        this.ttl = ttl;
+        this.publicViews = build(maximumSize);
+        this.ownerViews = build(maximumSize);
+        CaffeineCacheMetrics.monitor(meterRegistry, publicViews, "itemViews", "view", "public");
+        CaffeineCacheMetrics.monitor(meterRegistry, ownerViews, "itemViews", "view", "owner");
+    }
+
+    public ItemDtoResponse get(Long itemId, Long userId) {
+        CachedView ownerView = ownerViews.getIfPresent(itemId);
+        if (ownerView != null && ownerView.ownerId.equals(userId)) {
+            return ownerView.view;
+        }
+        CachedView publicView = publicViews.getIfPresent(itemId);
+        if (publicView != null && !publicView.ownerId.equals(userId)) {
+            return publicView.view;
+        }
+        return null;
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public void put(Long ownerId, ItemDtoResponse view, boolean owner, long loadedVersion) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(ttl);
+        if (owner && view.getNextBooking() != null && view.getNextBooking().getStart().isBefore(expiresAt)) {
+            expiresAt = view.getNextBooking().getStart();
+        }
+        if (!expiresAt.isAfter(LocalDateTime.now()) || loadedVersion != version.get()) {
+            return;
+        }
+        (owner ? ownerViews : publicViews).put(view.getId(), new CachedView(ownerId, view, expiresAt));
+    }
+
+    public void invalidate(Long itemId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(itemId);
+                }
+            });
+        }
+        evict(itemId);
+    }
+
+    private void evict(Long itemId) {
+        version.incrementAndGet();
+        publicViews.invalidate(itemId);
+        ownerViews.invalidate(itemId);
+        log.debug("Item View Cache: Представления вещи сброшены. ID вещи {}", itemId);
+    }
+
+    private static Cache<Long, CachedView> build(long maximumSize) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, CachedView>() {
+                    @Override
+                    public long expireAfterCreate(Long key, CachedView value, long currentTime) {
+                        return Math.max(0, Duration.between(LocalDateTime.now(), value.expiresAt).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, CachedView value, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, value, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, CachedView value, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    @AllArgsConstructor
+    private static class CachedView {
+        private final Long ownerId;
+        private final ItemDtoResponse view;
+        private final LocalDateTime expiresAt;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.*;
+import ru.practicum.shareit.booking.dto.FreeSlotDtoResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class ItemAvailabilityDtoResponse {
+
+    private Long itemId;
+
+    private LocalDateTime from;
+
+    private LocalDateTime to;
+
+    private List<FreeSlotDtoResponse> freeSlots;
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public class ItemSearchView {
+
+    private final Long id;
+
+    private final String name;
+
+    private final String description;
+
+    private final Boolean available;
+}
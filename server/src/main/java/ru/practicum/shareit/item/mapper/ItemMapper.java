@@ -1,8 +1,7 @@
 package ru.practicum.shareit.item.mapper;
 
 import lombok.experimental.UtilityClass;
-import ru.practicum.shareit.booking.Booking;
-import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingItemDtoResponse;
 import ru.practicum.shareit.item.Comment;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
@@ -25,15 +24,15 @@ public class ItemMapper {
 
     public static ItemDtoResponse toItemDto(Item item,
                                             List<Comment> comments,
-                                            Booking lastBooking,
-                                            Booking nextBooking) {
+                                            BookingItemDtoResponse lastBooking,
+                                            BookingItemDtoResponse nextBooking) {
         ItemDtoResponse result = new ItemDtoResponse(
                 item.getId(),
                 item.getName(),
                 item.getDescription(),
                 item.getAvailable(),
-                BookingMapper.toBookingItemDtoResponse(lastBooking),
-                BookingMapper.toBookingItemDtoResponse(nextBooking),
+                lastBooking,
+                nextBooking,
                 CommentMapper.toCommentDtoList(comments),
                 null
         );
@@ -0,0 +1,241 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.storage.ItemStorage;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@Slf4j
+public class ItemSearchIndex implements SmartInitializingSingleton {
+    private static final int MAX_GRAM = 3;
+    private static final int NAME_WORD_SCORE = 8;
+    private static final int NAME_SCORE = 4;
+    private static final int DESCRIPTION_WORD_SCORE = 2;
+    private static final int DESCRIPTION_SCORE = 1;
+    private final ItemStorage itemStorage;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index current = new Index();
+    private List<Document> pendingWrites;
+
+    public ItemSearchIndex(ItemStorage itemStorage, PlatformTransactionManager transactionManager) {
+        this.itemStorage = itemStorage;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            pendingWrites = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Index rebuilt = new Index();
+        boolean built = false;
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<ItemSearchView> items = itemStorage.streamSearchViews()) {
+                    items.forEach(item -> rebuilt.write(toDocument(item.getId(), item.getName(),
+                            item.getDescription(), item.getAvailable())));
+                }
+            });
+            built = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (built) {
+                    pendingWrites.forEach(rebuilt::write);
+                    current = rebuilt;
+                }
+                pendingWrites = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        log.info("Item Search Index: Индекс построен. Количество вещей: {}", rebuilt.documents.size());
+    }
+
+    public void index(Item item) {
+        Document document = toDocument(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    write(document);
+                }
+            });
+        } else {
+            write(document);
+        }
+    }
+
+    public List<Long> search(String text, int offset, int limit) {
+        String query = normalize(text);
+        if (query.isEmpty()) {
+            return new ArrayList<>();
+        }
+        lock.readLock().lock();
+        try {
+            return current.candidates(query).stream()
+                    .map(current.documents::get)
+                    .filter(document -> document.available)
+                    .map(document -> new Hit(document.id, score(document, query)))
+                    .filter(hit -> hit.score > 0)
+                    .sorted(Comparator.comparingInt((Hit hit) -> hit.score).reversed()
+                            .thenComparingLong(hit -> hit.id))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(hit -> hit.id)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void write(Document document) {
+        lock.writeLock().lock();
+        try {
+            current.write(document);
+            if (pendingWrites != null) {
+                pendingWrites.add(document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int score(Document document, String query) {
+        return score(document.name, query, NAME_WORD_SCORE, NAME_SCORE)
+                + score(document.description, query, DESCRIPTION_WORD_SCORE, DESCRIPTION_SCORE);
+    }
+
+    private static int score(String field, String query, int wordScore, int containsScore) {
+        int index = field.indexOf(query);
+        if (index < 0) {
+            return 0;
+        }
+        while (index >= 0) {
+            int end = index + query.length();
+            boolean wordStart = index == 0 || !Character.isLetterOrDigit(field.charAt(index - 1));
+            boolean wordEnd = end == field.length() || !Character.isLetterOrDigit(field.charAt(end));
+            if (wordStart && wordEnd) {
+                return wordScore;
+            }
+            index = field.indexOf(query, index + 1);
+        }
+        return containsScore;
+    }
+
+    private static Document toDocument(Long id, String itemName, String itemDescription, Boolean available) {
+        String name = normalize(itemName);
+        String description = normalize(itemDescription);
+        Set<String> grams = new HashSet<>();
+        for (int length = 1; length <= MAX_GRAM; length++) {
+            grams.addAll(grams(name, length));
+            grams.addAll(grams(description, length));
+        }
+        return new Document(id, name, description, Boolean.TRUE.equals(available), grams);
+    }
+
+    private static Set<String> grams(String text, int length) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + length <= text.length(); i++) {
+            result.add(text.substring(i, i + length));
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    private static class Index {
+        private final Map<Long, Document> documents = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+
+        private void write(Document document) {
+            remove(document.id);
+            documents.put(document.id, document);
+            for (String gram : document.grams) {
+                postings.computeIfAbsent(gram, key -> new HashSet<>()).add(document.id);
+            }
+        }
+
+        private void remove(Long itemId) {
+            Document previous = documents.remove(itemId);
+            if (previous == null) {
+                return;
+            }
+            for (String gram : previous.grams) {
+                Set<Long> ids = postings.get(gram);
+                ids.remove(itemId);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+
+        private Collection<Long> candidates(String query) {
+            if (query.length() <= MAX_GRAM) {
+                return postings.getOrDefault(query, Set.of());
+            }
+            List<Set<Long>> lists = new ArrayList<>();
+            for (String gram : grams(query, MAX_GRAM)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids == null) {
+                    return Set.of();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            Set<Long> result = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i));
+            }
+            return result;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Document {
+        private final Long id;
+        private final String name;
+        private final String description;
+        private final boolean available;
+        private final Set<String> grams;
+    }
+
+    @AllArgsConstructor
+    private static class Hit {
+        private final Long id;
+        private final int score;
+    }
+}
@@ -2,9 +2,11 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -19,5 +21,7 @@ public interface ItemService {
 
     List<ItemDtoResponse> searchItems(String text, Long userId, Integer from, Integer size);
 
+    ItemAvailabilityDtoResponse getAvailability(long itemId, LocalDateTime from, LocalDateTime to, Long userId);
+
     CommentDtoResponse createComment(CommentDtoRequest comment, Long itemId, Long userId);
 }
@@ -8,17 +8,27 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
 import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.archive.ArchivedBooking;
+import ru.practicum.shareit.booking.archive.ArchivedBookingStorage;
+import ru.practicum.shareit.booking.dto.BookingItemDtoResponse;
+import ru.practicum.shareit.booking.dto.FreeSlotDtoResponse;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.exception.CommentException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.Comment;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.storage.CommentStorage;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.request.ItemRequest;
@@ -28,9 +38,13 @@ import ru.practicum.shareit.user.UserStorage;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -39,11 +53,16 @@ public class ItemServiceImpl implements ItemService {
     private static final String ERR_ITEM = "Вещь с ID %s не найдена";
     private static final String ERR_USER = "Пользователь с ID %s не найден";
     private static final String ERR_REQ = "Запрос с ID %s не найден";
+    private static final Pageable NEAREST_BOOKING = PageRequest.of(0, 1);
     private final ItemStorage itemStorage;
     private final UserStorage userStorage;
     private final CommentStorage commentStorage;
     private final BookingStorage bookingStorage;
     private final ItemRequestStorage itemRequestStorage;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemViewCache itemViewCache;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ArchivedBookingStorage archivedBookingStorage;
 
     @Transactional
     @Override
@@ -57,6 +76,7 @@ public class ItemServiceImpl implements ItemService {
         item.setOwner(owner);
         item.setRequest(itemRequest);
         Item result = itemStorage.save(item);
+        itemSearchIndex.index(result);
         log.info("Item Service: Вещь создана. ID вещи {}", result.getId());
         return ItemMapper.toItemDto(result);
     }
@@ -73,6 +93,8 @@ public class ItemServiceImpl implements ItemService {
         Optional.ofNullable(itemDtoRequest.getName()).ifPresent(item::setName);
         Optional.ofNullable(itemDtoRequest.getDescription()).ifPresent(item::setDescription);
         Optional.ofNullable(itemDtoRequest.getAvailable()).ifPresent(item::setAvailable);
+        itemSearchIndex.index(item);
+        itemViewCache.invalidate(item.getId());
         log.info("Item Service: Запись вещи обновлена. ID вещи {}", item.getId());
         return ItemMapper.toItemDto(item);
     }
@@ -81,15 +103,25 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public ItemDtoResponse getItem(long itemId, Long userId) {
         checkUserExist(userId);
+        ItemDtoResponse cached = itemViewCache.get(itemId, userId);
+        if (cached != null) {
+            log.info("Item Service: Вещь найдена в кэше. ID вещи {}", itemId);
+            return cached;
+        }
+        long version = itemViewCache.version();
         Item item = itemStorage.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(String.format(ERR_ITEM, itemId)));
         log.info("Item Service: Вещь найдена. ID вещи {}", itemId);
-        if (item.getOwner().getId().equals(userId)) {
-            return setItemDtoWithBooking(item, userId);
+        boolean owner = item.getOwner().getId().equals(userId);
+        ItemDtoResponse result;
+        if (owner) {
+            result = setItemDtoWithBooking(item, userId);
         } else {
             List<Comment> comments = commentStorage.findAllByItemId(item.getId());
-            return ItemMapper.toItemDto(item, comments);
+            result = ItemMapper.toItemDto(item, comments);
         }
+        itemViewCache.put(item.getOwner().getId(), result, owner, version);
+        return result;
     }
 
     @Transactional(readOnly = true)
@@ -97,10 +129,34 @@ public class ItemServiceImpl implements ItemService {
     public List<ItemDtoResponse> getOwnItems(Long userId, Integer from, Integer size) {
         checkUserExist(userId);
         Pageable pageable = PageRequest.of(from / size, size);
-        List<ItemDtoResponse> result = new ArrayList<>();
         List<Item> items = itemStorage.findAllByOwnerId(userId, pageable).toList();
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<Long> itemIds = items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<Comment>> comments = commentStorage.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+        Map<Long, BookingItemDtoResponse> lastBookings = toBookingsByItem(bookingStorage.getLastBookings(itemIds, now));
+        List<Long> withoutLastBooking = itemIds.stream()
+                .filter(itemId -> !lastBookings.containsKey(itemId))
+                .collect(Collectors.toList());
+        if (!withoutLastBooking.isEmpty()) {
+            for (ArchivedBooking booking : archivedBookingStorage.getLastBookings(withoutLastBooking)) {
+                lastBookings.merge(booking.getItem().getId(), BookingMapper.toBookingItemDtoResponse(booking),
+                        (first, second) -> first.getId() < second.getId() ? first : second);
+            }
+        }
+        Map<Long, BookingItemDtoResponse> nextBookings = toBookingsByItem(bookingStorage.getNextBookings(itemIds, now));
+        List<ItemDtoResponse> result = new ArrayList<>();
         for (Item item : items) {
-            result.add(setItemDtoWithBooking(item, userId));
+            result.add(ItemMapper.toItemDto(
+                    item,
+                    comments.getOrDefault(item.getId(), new ArrayList<>()),
+                    lastBookings.get(item.getId()),
+                    nextBookings.get(item.getId())));
         }
         log.info("Item Service: Вещи найдены. Количество: {}", result.size());
         return result;
@@ -113,12 +169,33 @@ public class ItemServiceImpl implements ItemService {
         if (StringUtils.isBlank(text)) {
             return new ArrayList<>();
         }
-        Pageable pageable = PageRequest.of(from / size, size);
-        List<Item> items = itemStorage.itemsSearch(text, pageable).toList();
+        List<Long> itemIds = itemSearchIndex.search(text, from / size * size, size);
+        Map<Long, Item> found = itemStorage.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> items = itemIds.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
         log.info("Item Service: Вещи найдены. Количество: {}", items.size());
         return ItemMapper.toItemDtoList(items);
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public ItemAvailabilityDtoResponse getAvailability(long itemId, LocalDateTime from, LocalDateTime to, Long userId) {
+        checkUserExist(userId);
+        if (!from.isBefore(to)) {
+            throw new ValidationException("Начало периода должно быть раньше окончания");
+        }
+        Item item = itemStorage.findById(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format(ERR_ITEM, itemId)));
+        List<FreeSlotDtoResponse> freeSlots = Boolean.TRUE.equals(item.getAvailable())
+                ? bookingIntervalIndex.getFreeSlots(itemId, from, to)
+                : new ArrayList<>();
+        log.info("Item Service: Свободные периоды найдены. ID вещи {}, количество: {}", itemId, freeSlots.size());
+        return new ItemAvailabilityDtoResponse(itemId, from, to, freeSlots);
+    }
+
     @Transactional
     @Override
     public CommentDtoResponse createComment(CommentDtoRequest commentDtoRequest, Long itemId, Long userId) {
@@ -126,11 +203,14 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new NotFoundException(String.format(ERR_USER, userId)));
         Item item = itemStorage.findById(itemId)
                 .orElseThrow(() -> new NotFoundException(String.format(ERR_ITEM, itemId)));
-        if (bookingStorage.findBookingForComments(userId, itemId, LocalDateTime.now()).isEmpty()) {
+        LocalDateTime now = LocalDateTime.now();
+        if (bookingStorage.findBookingForComments(userId, itemId, now).isEmpty()
+                && !archivedBookingStorage.existsByBookerIdAndItemIdAndEndBefore(userId, itemId, now)) {
             throw new CommentException("Комментировать можно только то, чем пользуетесь");
         }
         Comment comment = CommentMapper.toComment(commentDtoRequest, user, item, LocalDateTime.now());
         Comment result = commentStorage.save(comment);
+        itemViewCache.invalidate(itemId);
         log.info("Item Service: Комментарий создан. ID: {}", result.getId());
         return CommentMapper.toCommentDto(result);
     }
@@ -147,17 +227,31 @@ public class ItemServiceImpl implements ItemService {
 
     private ItemDtoResponse setItemDtoWithBooking(Item item, Long userId) {
         List<Comment> comments = commentStorage.findAllByItemId(item.getId());
-        Booking lastBooking = bookingStorage
-                .getLastBooking(LocalDateTime.now(), userId, item.getId())
+        LocalDateTime now = LocalDateTime.now();
+        BookingItemDtoResponse lastBooking = bookingStorage
+                .getLastBooking(now, userId, item.getId(), NEAREST_BOOKING)
                 .stream()
                 .findFirst()
-                .orElse(null);
-        Booking nextBooking = bookingStorage
-                .getNextBooking(LocalDateTime.now(), userId, item.getId())
+                .orElseGet(() -> archivedBookingStorage
+                        .getLastBooking(userId, item.getId(), NEAREST_BOOKING)
+                        .stream()
+                        .findFirst()
+                        .orElse(null));
+        BookingItemDtoResponse nextBooking = bookingStorage
+                .getNextBooking(now, userId, item.getId(), NEAREST_BOOKING)
                 .stream()
                 .findFirst()
                 .orElse(null);
 
         return ItemMapper.toItemDto(item, comments, lastBooking, nextBooking);
     }
+
+    private Map<Long, BookingItemDtoResponse> toBookingsByItem(List<Booking> bookings) {
+        Map<Long, BookingItemDtoResponse> result = new HashMap<>();
+        for (Booking booking : bookings) {
+            result.merge(booking.getItem().getId(), BookingMapper.toBookingItemDtoResponse(booking),
+                    (first, second) -> first.getId() < second.getId() ? first : second);
+        }
+        return result;
+    }
 }
@@ -1,10 +1,18 @@
 package ru.practicum.shareit.item.storage;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentStorage extends JpaRepository<Comment, Long> {
     List<Comment> findAllByItemId(Long itemId);
+
+    @Query("SELECT cm " +
+            "FROM Comment AS cm " +
+            "JOIN FETCH cm.author " +
+            "WHERE cm.item.id IN :itemIds")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 }
@@ -1,12 +1,15 @@
 package ru.practicum.shareit.item.storage;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.dto.ItemSearchView;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemStorage extends JpaRepository<Item, Long> {
 
@@ -14,14 +17,13 @@ public interface ItemStorage extends JpaRepository<Item, Long> {
             "FROM Item AS it " +
             "WHERE it.owner.id = :id " +
             "ORDER BY it.id")
-    Page<Item> findAllByOwnerId(Long id, Pageable pageable);
+    Slice<Item> findAllByOwnerId(Long id, Pageable pageable);
 
-    @Query("SELECT it " +
-            "FROM Item AS it " +
-            "WHERE lower(it.name) LIKE lower(concat('%', :text, '%')) " +
-            "OR lower(it.description) LIKE lower(concat('%', :text, '%')) " +
-            "AND it.available = true")
-    Page<Item> itemsSearch(String text, Pageable pageable);
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemSearchView(it.id, it.name, it.description, it.available) " +
+            "FROM Item AS it")
+    Stream<ItemSearchView> streamSearchViews();
 
     List<Item> findAllByRequestId(Long requestId);
+
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
 }
@@ -1,7 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.experimental.UtilityClass;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import ru.practicum.shareit.request.dto.ItemRequestDtoRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDtoResponse;
 import ru.practicum.shareit.request.dto.ItemRequestDtoWItemResponse;
@@ -41,7 +41,7 @@ public class ItemRequestMapper {
                 )).collect(Collectors.toList());
     }
 
-    public static List<ItemRequestDtoWItemResponse> toItemRequestDtoWItemResponse(Page<ItemRequest> pageItemRequests) {
+    public static List<ItemRequestDtoWItemResponse> toItemRequestDtoWItemResponse(Slice<ItemRequest> pageItemRequests) {
         return pageItemRequests.stream()
                 .map(itemRequest -> new ItemRequestDtoWItemResponse(
                         itemRequest.getId(),
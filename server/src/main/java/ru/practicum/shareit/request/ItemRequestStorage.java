@@ -1,7 +1,7 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -14,5 +14,5 @@ public interface ItemRequestStorage extends JpaRepository<ItemRequest, Long> {
     @Query("SELECT rq " +
             "FROM ItemRequest AS rq " +
             "WHERE rq.requestor.id <> :userId")
-    Page<ItemRequest> findAllOtherRequests(Long userId, Pageable pageable);
+    Slice<ItemRequest> findAllOtherRequests(Long userId, Pageable pageable);
 }
@@ -2,13 +2,14 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.request.ItemRequest;
@@ -20,7 +21,10 @@ import ru.practicum.shareit.request.dto.ItemRequestDtoWItemResponse;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserStorage;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -49,9 +53,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         List<ItemRequest> itemRequests = itemRequestStorage.findAllByRequestorIdOrderByCreatedDesc(userId);
         log.info("Request Service: Запрос найден. Количество: {}", itemRequests.size());
         List<ItemRequestDtoWItemResponse> result = ItemRequestMapper.toItemRequestDtoWItemResponse(itemRequests);
-        for (ItemRequestDtoWItemResponse req : result) {
-            req.setItems(ItemMapper.toItemDtoList(itemStorage.findAllByRequestId(req.getId())));
-        }
+        setItems(result);
         return result;
     }
 
@@ -60,12 +62,10 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public List<ItemRequestDtoWItemResponse> findFromAll(Integer from, Integer size, Long userId) {
         checkUserExist(userId);
         Pageable pageable = PageRequest.of(from / size, size, Sort.by("created").descending());
-        Page<ItemRequest> pageItemRequests = itemRequestStorage.findAllOtherRequests(userId, pageable);
+        Slice<ItemRequest> pageItemRequests = itemRequestStorage.findAllOtherRequests(userId, pageable);
         log.info("Request Service: Запрос найден. Количество: {}", pageItemRequests.getSize());
         List<ItemRequestDtoWItemResponse> result = ItemRequestMapper.toItemRequestDtoWItemResponse(pageItemRequests);
-        for (ItemRequestDtoWItemResponse req : result) {
-            req.setItems(ItemMapper.toItemDtoList(itemStorage.findAllByRequestId(req.getId())));
-        }
+        setItems(result);
         return result;
     }
 
@@ -87,6 +87,20 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         itemRequestStorage.deleteById(requestId);
     }
 
+    private void setItems(List<ItemRequestDtoWItemResponse> requests) {
+        if (requests.isEmpty()) {
+            return;
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequestDtoWItemResponse::getId)
+                .collect(Collectors.toList());
+        Map<Long, List<Item>> items = itemStorage.findAllByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+        for (ItemRequestDtoWItemResponse req : requests) {
+            req.setItems(ItemMapper.toItemDtoList(items.getOrDefault(req.getId(), new ArrayList<>())));
+        }
+    }
+
     private void checkUserExist(Long userId) {
         if (userId == null || !userStorage.existsUserById(userId)) {
             log.error("Пользователь пуст или его не существует вовсе: {}", userId);
@@ -1,8 +1,11 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface UserStorage extends JpaRepository<User, Long> {
+    String USER_EXISTS_CACHE = "userExists";
 
+    @Cacheable(cacheNames = USER_EXISTS_CACHE, key = "#p0", unless = "!#result")
     Boolean existsUserById(Long id);
 }
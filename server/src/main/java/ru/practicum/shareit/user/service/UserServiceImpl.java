@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NotFoundException;
@@ -23,6 +24,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = UserStorage.USER_EXISTS_CACHE, key = "#result.id")
     public UserDtoResponse createUser(UserDtoRequest userDtoRequest) {
         User user = userStorage.save(UserMapper.toUser(userDtoRequest));
         log.info("User Service: Пользователь создан. Его ID {}", user.getId());
@@ -46,6 +48,7 @@ public class UserServiceImpl implements UserService {
 
     @Override
     @Transactional
+    @CacheEvict(cacheNames = UserStorage.USER_EXISTS_CACHE, key = "#userId")
     public UserDtoResponse deleteUser(long userId) {
         User user = userStorage.findById(userId)
                 .orElseThrow(() -> new NotFoundException(String.format(USER_NOT_EXIST, userId)));
@@ -1,5 +1,3 @@
-drop table if exists users, requests, items, bookings, comments;
-
 create table if not exists users (
     user_id         bigint generated always as identity not null,
     user_name       varchar(250) not null,
@@ -0,0 +1,19 @@
+create index if not exists idx_bookings_booker_start on bookings (booker_id, start_date);
+
+create index if not exists idx_bookings_booker_status_start on bookings (booker_id, status, start_date);
+
+create index if not exists idx_bookings_booker_item_end on bookings (booker_id, item_id, end_date);
+
+create index if not exists idx_bookings_item_start on bookings (item_id, start_date);
+
+create index if not exists idx_bookings_item_status_start on bookings (item_id, status, start_date);
+
+create index if not exists idx_items_owner on items (owner_id, item_id);
+
+create index if not exists idx_items_request on items (request_id);
+
+create index if not exists idx_comments_item on comments (item_id);
+
+create index if not exists idx_requests_requestor_created on requests (requestor_id, created);
+
+create index if not exists idx_requests_created on requests (created);
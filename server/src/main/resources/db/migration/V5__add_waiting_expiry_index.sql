@@ -0,0 +1 @@
+create index if not exists idx_bookings_status_id on bookings (status, booking_id);
@@ -0,0 +1,19 @@
+create table if not exists bookings_archive (
+    booking_id      bigint not null,
+    start_date      timestamp without time zone not null,
+    end_date        timestamp without time zone not null,
+    item_id         bigint not null,
+    booker_id       bigint not null,
+    status          varchar(20) not null,
+    constraint pk_bookings_archive primary key (booking_id),
+    constraint fk_bookings_archive_to_items foreign key (item_id) references items(item_id),
+    constraint fk_bookings_archive_to_users foreign key (booker_id) references users(user_id)
+);
+
+create index if not exists idx_bookings_archive_booker_start on bookings_archive (booker_id, start_date);
+
+create index if not exists idx_bookings_archive_booker_item_end on bookings_archive (booker_id, item_id, end_date);
+
+create index if not exists idx_bookings_archive_item_status_start on bookings_archive (item_id, status, start_date);
+
+create index if not exists idx_bookings_end on bookings (end_date, booking_id);
@@ -0,0 +1,93 @@
+package ru.practicum.shareit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.exception.BookingException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Запуск: mvn -pl server test -Dtest=BookingOverlapBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class BookingOverlapBenchmarkTest extends JpaFixtureTest {
+    private static final int[] SIZES = {1_000, 5_000, 20_000};
+    private static final int WARMUP = 10_000;
+    private static final int ITERATIONS = 100_000;
+
+    @Autowired
+    private BookingStorage bookingStorage;
+
+    private LocalDateTime base;
+
+    @BeforeEach
+    void init() {
+        base = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).plusDays(1);
+        execute("INSERT INTO users (user_id, user_name, email) VALUES (1, 'owner', 'owner@mail.ru'), " +
+                "(2, 'booker', 'booker@mail.ru')");
+        for (int i = 0; i < SIZES.length; i++) {
+            execute("INSERT INTO items (item_id, item_name, description, is_available, owner_id) " +
+                    "VALUES (" + (i + 1) + ", 'item', 'descr', TRUE, 1)");
+            execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                    "SELECT DATEADD('HOUR', X * 3, '" + base + "'), DATEADD('HOUR', X * 3 + 2, '" + base + "'), " +
+                    (i + 1) + ", 2, CASEWHEN(MOD(X, 2) = 0, 'APPROVED', 'WAITING') " +
+                    "FROM SYSTEM_RANGE(0, " + (SIZES[i] - 1) + ")");
+        }
+    }
+
+    @Test
+    void overlapCheckTest() {
+        BookingIntervalIndex index = new BookingIntervalIndex(bookingStorage, 100);
+        AtomicLong ids = new AtomicLong();
+        UnaryOperator<Booking> save = booking -> {
+            booking.setId(ids.decrementAndGet());
+            return booking;
+        };
+        for (int i = 0; i < SIZES.length; i++) {
+            Item item = entityManager.getReference(Item.class, (long) i + 1);
+            User booker = entityManager.getReference(User.class, 2L);
+
+            long load = System.nanoTime();
+            check(index, save, item, booker, SIZES[i], 1, new Random(i));
+            load = System.nanoTime() - load;
+
+            check(index, save, item, booker, SIZES[i], WARMUP, new Random(i));
+            long time = System.nanoTime();
+            check(index, save, item, booker, SIZES[i], ITERATIONS, new Random(i));
+            time = (System.nanoTime() - time) / ITERATIONS;
+
+            log.info("Бронирований у вещи: {}, загрузка периодов: {} мкс, проверка пересечения: {} нс",
+                    SIZES[i], load / 1000, time);
+            assertTrue(time < 1_000_000);
+        }
+    }
+
+    private void check(BookingIntervalIndex index, UnaryOperator<Booking> save, Item item, User booker,
+                       int size, int count, Random random) {
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = base.plusHours(random.nextInt(size * 3));
+            Booking booking = new Booking(null, start, start.plusMinutes(30), item, booker, BookingStatus.WAITING,
+                    null);
+            try {
+                index.reserve(booking, save);
+            } catch (BookingException ignored) {
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package ru.practicum.shareit;
+
+import com.sun.management.ThreadMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Запуск: mvn -pl server test -Dtest=BookingReadPathBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class BookingReadPathBenchmarkTest extends JpaFixtureTest {
+    private static final int BOOKINGS = 100_000;
+    private static final int PAGE_SIZE = 100;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 200;
+    private static final ThreadMXBean THREADS = allocationCounter();
+
+    private Long ownerId;
+
+    @BeforeEach
+    void init() {
+        execute("INSERT INTO users (user_id, user_name, email) " +
+                "SELECT X, 'user' || X, 'user' || X || '@mail.ru' FROM SYSTEM_RANGE(1, 1000)");
+        execute("INSERT INTO items (item_id, item_name, description, is_available, owner_id) " +
+                "SELECT X, 'item' || X, 'description ' || X, TRUE, (SELECT MIN(user_id) FROM users) + MOD(X, 10) " +
+                "FROM SYSTEM_RANGE(1, 1000)");
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('HOUR', X - 50000, NOW()), DATEADD('HOUR', X - 49999, NOW()), " +
+                "(SELECT MIN(item_id) FROM items) + MOD(X, 1000), (SELECT MIN(user_id) FROM users) + MOD(X * 7, 1000), " +
+                "'APPROVED' FROM SYSTEM_RANGE(1, " + BOOKINGS + ")");
+        ownerId = ((Number) entityManager.createNativeQuery("SELECT MIN(user_id) FROM users")
+                .getSingleResult()).longValue();
+    }
+
+    @Test
+    void projectionVersusEntityPathTest() {
+        Supplier<List<BookingDtoResponse>> entityPath = () -> entityManager.createQuery("SELECT bc " +
+                        "FROM Booking AS bc " +
+                        "JOIN FETCH bc.item " +
+                        "JOIN FETCH bc.booker " +
+                        "WHERE bc.item.owner.id = :ownerId " +
+                        "ORDER BY bc.start DESC", Booking.class)
+                .setParameter("ownerId", ownerId)
+                .setMaxResults(PAGE_SIZE)
+                .getResultStream()
+                .map(BookingMapper::toBookingDtoResponse)
+                .collect(Collectors.toList());
+        Supplier<List<BookingDtoResponse>> projectionPath = () -> BookingMapper.toBookingDtoResponsesList(
+                entityManager.createQuery(BookingStorage.BOOKING_VIEW +
+                                "WHERE it.owner.id = :ownerId " +
+                                "ORDER BY bc.start DESC", BookingView.class)
+                        .setParameter("ownerId", ownerId)
+                        .setMaxResults(PAGE_SIZE)
+                        .getResultList());
+
+        assertEquals(PAGE_SIZE, entityPath.get().size());
+        assertEquals(PAGE_SIZE, projectionPath.get().size());
+
+        long[] entity = measure(entityPath);
+        long[] projection = measure(projectionPath);
+        if (THREADS == null) {
+            log.info("Entity path: {} мкс/запрос, projection path: {} мкс/запрос, аллокации в этой JVM не измеряются",
+                    entity[0] / 1000, projection[0] / 1000);
+            return;
+        }
+        log.info("Entity path: {} мкс/запрос, {} байт/запрос", entity[0] / 1000, entity[1]);
+        log.info("Projection path: {} мкс/запрос, {} байт/запрос", projection[0] / 1000, projection[1]);
+
+        assertTrue(projection[1] < entity[1]);
+    }
+
+    private long[] measure(Supplier<List<BookingDtoResponse>> path) {
+        for (int i = 0; i < WARMUP; i++) {
+            path.get();
+            entityManager.clear();
+        }
+        long bytes = allocatedBytes();
+        long time = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            path.get();
+            entityManager.clear();
+        }
+        time = System.nanoTime() - time;
+        bytes = allocatedBytes() - bytes;
+        return new long[]{time / ITERATIONS, bytes / ITERATIONS};
+    }
+
+    private static long allocatedBytes() {
+        return THREADS == null ? 0 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static ThreadMXBean allocationCounter() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean)) {
+            return null;
+        }
+        ThreadMXBean threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (!threads.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+        return threads;
+    }
+}
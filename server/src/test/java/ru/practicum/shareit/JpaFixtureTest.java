@@ -0,0 +1,19 @@
+package ru.practicum.shareit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import javax.persistence.EntityManager;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public abstract class JpaFixtureTest {
+
+    @Autowired
+    protected EntityManager entityManager;
+
+    protected void execute(String sql) {
+        entityManager.createNativeQuery(sql).executeUpdate();
+    }
+}
@@ -0,0 +1,204 @@
+package ru.practicum.shareit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingMapper;
+import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.request.ItemRequestStorage;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class QueryCountTest extends JpaFixtureTest {
+    private static final Pageable PAGE = PageRequest.of(1, 10, Sort.by("start").descending());
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BookingStorage bookingStorage;
+
+    @Autowired
+    private ItemStorage itemStorage;
+
+    @Autowired
+    private ItemRequestStorage itemRequestStorage;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void init() {
+        execute("INSERT INTO users (user_id, user_name, email) " +
+                "SELECT X, 'user' || X, 'user' || X || '@mail.ru' FROM SYSTEM_RANGE(1, 50)");
+        execute("INSERT INTO requests (request_id, description, requestor_id, created) " +
+                "SELECT X, 'descr', 1, DATEADD('HOUR', -X, NOW()) FROM SYSTEM_RANGE(1, 50)");
+        execute("INSERT INTO items (item_id, item_name, description, is_available, owner_id) " +
+                "SELECT X, 'item' || X, 'descr', TRUE, 1 FROM SYSTEM_RANGE(1, 50)");
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('HOUR', CASE WHEN X <= 25 THEN -100 - X WHEN X <= 50 THEN -X ELSE 100 + X END, NOW()), " +
+                "DATEADD('HOUR', CASE WHEN X <= 25 THEN -50 WHEN X <= 50 THEN X ELSE 200 + X END, NOW()), " +
+                "(SELECT MIN(item_id) FROM items), 2, 'WAITING' FROM SYSTEM_RANGE(1, 75)");
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('HOUR', -X, NOW()), DATEADD('HOUR', 1 - X, NOW()), " +
+                "(SELECT MIN(item_id) FROM items) + MOD(X, 50), (SELECT MIN(user_id) FROM users) + 2 + MOD(X, 48), " +
+                "'APPROVED' FROM SYSTEM_RANGE(1, 100)");
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void sliceListingsRunSingleStatementTest() {
+        Long ownerId = userId("user1@mail.ru");
+        Long bookerId = userId("user2@mail.ru");
+        LocalDateTime time = LocalDateTime.now();
+
+        assertSingleStatement(() -> bookingStorage.findByBookerIdCurrent(bookerId, time, PAGE));
+        assertSingleStatement(() -> bookingStorage.findByBookerIdAndStartIsAfter(bookerId, time, PAGE));
+        assertSingleStatement(() -> bookingStorage.findByBookerIdAndStatus(bookerId, BookingStatus.WAITING, PAGE));
+        assertSingleStatement(() -> bookingStorage.findBookingByItemOwnerCurrent(ownerId, time, PAGE));
+        assertSingleStatement(() -> bookingStorage.findBookingByItemOwnerIdAndStartIsAfter(ownerId, time, PAGE));
+        assertSingleStatement(() -> bookingStorage.findBookingByItemOwnerIdAndStatus(
+                ownerId, BookingStatus.WAITING, PAGE));
+        assertSingleStatement(() -> itemStorage.findAllByOwnerId(ownerId, PageRequest.of(1, 10)));
+        assertSingleStatement(() -> itemRequestStorage.findAllOtherRequests(bookerId, PageRequest.of(1, 10)));
+    }
+
+    @Test
+    void bookingPagesRenderWithSingleStatementTest() {
+        Long ownerId = userId("user1@mail.ru");
+        Long bookerId = userId("user2@mail.ru");
+        LocalDateTime time = LocalDateTime.now();
+
+        assertRenderedWithSingleStatement(() -> bookingStorage.findByBookerIdWithArchive(
+                bookerId, BookingState.ALL, time, PAGE.getOffset(), PAGE.getPageSize()));
+        assertRenderedWithSingleStatement(() -> bookingStorage.findByItemOwnerIdWithArchive(
+                ownerId, BookingState.ALL, time, PAGE.getOffset(), PAGE.getPageSize()));
+        assertRenderedWithSingleStatement(() -> bookingStorage.findByItemOwnerIdWithArchive(
+                ownerId, BookingState.PAST, time, PAGE.getOffset(), PAGE.getPageSize()));
+        assertRenderedWithSingleStatement(() -> bookingStorage.findBookingByItemOwnerIdAndStatus(
+                ownerId, BookingStatus.APPROVED, PAGE).getContent());
+        assertRenderedWithSingleStatement(() -> bookingStorage.findByItemOwnerIdAfterCursor(
+                ownerId, BookingState.FUTURE, time, null, 10));
+    }
+
+    @Test
+    void pastCursorPagesReadHotAndArchiveTest() {
+        Long ownerId = userId("user1@mail.ru");
+        Long bookerId = userId("user2@mail.ru");
+        LocalDateTime time = LocalDateTime.now();
+
+        assertRenderedWithStatements(2, () -> bookingStorage.findByItemOwnerIdAfterCursor(
+                ownerId, BookingState.PAST, time, null, 10));
+        assertRenderedWithStatements(2, () -> bookingStorage.findByBookerIdAfterCursor(
+                bookerId, BookingState.ALL, time, null, 10));
+    }
+
+    @Test
+    void offsetPagesUnionHotAndArchiveInSingleStatementTest() {
+        Long ownerId = userId("user1@mail.ru");
+        LocalDateTime time = LocalDateTime.now();
+        execute("INSERT INTO bookings_archive (booking_id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT booking_id, start_date, end_date, item_id, booker_id, 'REJECTED' FROM bookings " +
+                "WHERE status = 'APPROVED'");
+        execute("DELETE FROM bookings WHERE status = 'APPROVED'");
+
+        assertRenderedWithSingleStatement(() -> bookingStorage.findByItemOwnerIdWithArchive(
+                ownerId, BookingState.REJECTED, time, PAGE.getOffset(), PAGE.getPageSize()));
+        assertRenderedWithSingleStatement(() -> bookingStorage.findByItemOwnerIdWithArchive(
+                ownerId, BookingState.PAST, time, PAGE.getOffset(), PAGE.getPageSize()));
+    }
+
+    @Test
+    void pageListingRunsCountStatementTest() {
+        statistics.clear();
+
+        assertTrue(bookingStorage.findAll(PAGE).hasNext());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void bookingInsertsAreBatchedTest() {
+        Item item = entityManager.getReference(Item.class, 1L);
+        User booker = entityManager.getReference(User.class, 2L);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            bookings.add(new Booking(null, start.plusHours(i), start.plusHours(i + 1), item, booker,
+                    BookingStatus.WAITING, null));
+        }
+        statistics.clear();
+
+        bookingStorage.saveAll(bookings);
+        entityManager.flush();
+
+        assertEquals(100, statistics.getEntityInsertCount());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void stateChangeRunsGuardedUpdateAndProjectionTest() {
+        Long bookingId = ((Number) entityManager.createNativeQuery(
+                "SELECT MIN(booking_id) FROM bookings WHERE status = 'WAITING'").getSingleResult()).longValue();
+        statistics.clear();
+
+        assertEquals(0, bookingStorage.updateStatusIfWaiting(bookingId, 2L, BookingStatus.APPROVED));
+        assertEquals(1, bookingStorage.updateStatusIfWaiting(bookingId, 1L, BookingStatus.APPROVED));
+        BookingView booking = bookingStorage.findViewById(bookingId).orElseThrow();
+
+        assertEquals(BookingStatus.APPROVED, booking.getStatus());
+        assertEquals(1L, booking.getItemOwnerId());
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    private void assertSingleStatement(Supplier<Slice<?>> query) {
+        statistics.clear();
+
+        Slice<?> result = query.get();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(10, result.getNumberOfElements());
+        assertTrue(result.hasNext());
+    }
+
+    private void assertRenderedWithSingleStatement(Supplier<List<BookingView>> query) {
+        assertRenderedWithStatements(1, query);
+    }
+
+    private void assertRenderedWithStatements(int statements, Supplier<List<BookingView>> query) {
+        entityManager.clear();
+        statistics.clear();
+
+        List<BookingDtoResponse> result = BookingMapper.toBookingDtoResponsesList(query.get());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(10, result.size());
+    }
+
+    private Long userId(String email) {
+        return ((Number) entityManager.createNativeQuery("SELECT user_id FROM users WHERE email = :email")
+                .setParameter("email", email)
+                .getSingleResult()).longValue();
+    }
+}
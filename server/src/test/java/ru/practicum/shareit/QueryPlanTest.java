@@ -0,0 +1,113 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * H2 создает отдельный индекс под каждый внешний ключ и при равной стоимости выбирает его,
+ * поэтому для запросов с одним условием равенства допускается и индекс внешнего ключа.
+ * Составные индексы проверяются там, где их может отличить планировщик H2.
+ */
+class QueryPlanTest extends JpaFixtureTest {
+    private static final String FK_BOOKER = "FK_BOOKINGS_TO_USERS";
+    private static final String FK_ITEM = "FK_BOOKINGS_TO_ITEMS";
+    private static final String FK_OWNER = "FK_ITEMS_TO_USERS";
+
+    @BeforeEach
+    void init() {
+        execute("INSERT INTO users (user_id, user_name, email) " +
+                "SELECT X, 'user' || X, 'user' || X || '@mail.ru' FROM SYSTEM_RANGE(1, 100)");
+        execute("INSERT INTO requests (request_id, description, requestor_id, created) " +
+                "SELECT X, 'descr', MOD(X, 100) + 1, DATEADD('HOUR', -X, NOW()) FROM SYSTEM_RANGE(1, 100)");
+        execute("INSERT INTO items (item_id, item_name, description, is_available, owner_id, request_id) " +
+                "SELECT X, 'item' || X, 'descr', TRUE, MOD(X, 100) + 1, " +
+                "CASEWHEN(MOD(X, 5) = 0, MOD(X, 100) + 1, NULL) FROM SYSTEM_RANGE(1, 1000)");
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('HOUR', X - 10000, NOW()), DATEADD('HOUR', X - 9999, NOW()), " +
+                "MOD(X, 1000) + 1, MOD(X * 7, 100) + 1, " +
+                "CASEWHEN(MOD(X, 3) = 0, 'WAITING', CASEWHEN(MOD(X, 3) = 1, 'APPROVED', 'REJECTED')) " +
+                "FROM SYSTEM_RANGE(1, 20000)");
+        execute("INSERT INTO comments (text, item_id, author_id, created) " +
+                "SELECT 'text', MOD(X, 1000) + 1, MOD(X, 100) + 1, NOW() FROM SYSTEM_RANGE(1, 2000)");
+        execute("ANALYZE");
+    }
+
+    @Test
+    void bookerBookingsTest() {
+        assertPlanUses("SELECT * FROM bookings WHERE booker_id = 1 ORDER BY start_date DESC",
+                "IDX_BOOKINGS_BOOKER_START", FK_BOOKER);
+        assertPlanUses("SELECT * FROM bookings WHERE booker_id = 1 AND start_date < NOW() AND end_date > NOW() " +
+                "ORDER BY start_date DESC", "IDX_BOOKINGS_BOOKER_START");
+        assertPlanUses("SELECT * FROM bookings WHERE booker_id = 1 AND status = 'WAITING' ORDER BY start_date DESC",
+                "IDX_BOOKINGS_BOOKER_STATUS_START");
+    }
+
+    @Test
+    void ownerBookingsTest() {
+        String sql = "SELECT * FROM bookings b JOIN items i ON b.item_id = i.item_id " +
+                "WHERE i.owner_id = 1 ORDER BY b.start_date DESC";
+        assertPlanUses(sql, "IDX_ITEMS_OWNER", FK_OWNER);
+        assertPlanUses(sql, "IDX_BOOKINGS_ITEM_START", "IDX_BOOKINGS_ITEM_STATUS_START", FK_ITEM);
+    }
+
+    @Test
+    void lastAndNextBookingTest() {
+        assertPlanUses("SELECT * FROM bookings WHERE item_id = 1 AND status = 'APPROVED' " +
+                "AND start_date < NOW() ORDER BY start_date DESC", "IDX_BOOKINGS_ITEM_STATUS_START");
+        assertPlanUses("SELECT * FROM bookings WHERE item_id IN (1, 2, 3) AND status = 'APPROVED' " +
+                "AND start_date > NOW()", "IDX_BOOKINGS_ITEM_STATUS_START");
+    }
+
+    @Test
+    void commentBookingCheckTest() {
+        assertPlanUses("SELECT * FROM bookings WHERE booker_id = 1 AND item_id = 1 AND end_date < NOW()",
+                "IDX_BOOKINGS_BOOKER_ITEM_END");
+    }
+
+    @Test
+    void waitingExpiryTest() {
+        assertPlanUses("SELECT booking_id, item_id FROM bookings WHERE status = 'WAITING' AND booking_id > 100 " +
+                "AND start_date < NOW() ORDER BY booking_id", "IDX_BOOKINGS_STATUS_ID");
+    }
+
+    @Test
+    void bookingArchiveTest() {
+        execute("INSERT INTO bookings_archive (booking_id, start_date, end_date, item_id, booker_id, status) " +
+                "SELECT booking_id, start_date, end_date, item_id, booker_id, status FROM bookings " +
+                "WHERE booking_id <= 10000");
+        execute("ANALYZE");
+
+        assertPlanUses("SELECT booking_id, item_id FROM bookings WHERE end_date < DATEADD('HOUR', -5000, NOW()) " +
+                "AND booking_id > 100 ORDER BY booking_id", "IDX_BOOKINGS_END", "PRIMARY_KEY");
+        assertPlanUses("SELECT * FROM bookings_archive WHERE booker_id = 1 ORDER BY start_date DESC",
+                "IDX_BOOKINGS_ARCHIVE_BOOKER_START", "FK_BOOKINGS_ARCHIVE_TO_USERS");
+        assertPlanUses("SELECT * FROM bookings_archive WHERE booker_id = 1 AND item_id = 1 AND end_date < NOW()",
+                "IDX_BOOKINGS_ARCHIVE_BOOKER_ITEM_END");
+        assertPlanUses("SELECT * FROM bookings_archive WHERE item_id IN (1, 2, 3) AND status = 'APPROVED'",
+                "IDX_BOOKINGS_ARCHIVE_ITEM_STATUS_START", "FK_BOOKINGS_ARCHIVE_TO_ITEMS");
+    }
+
+    @Test
+    void itemsCommentsAndRequestsTest() {
+        assertPlanUses("SELECT * FROM items WHERE owner_id = 1 ORDER BY item_id", "IDX_ITEMS_OWNER", FK_OWNER);
+        assertPlanUses("SELECT * FROM items WHERE request_id IN (1, 2)",
+                "IDX_ITEMS_REQUEST", "FK_ITEMS_TO_REQUESTS");
+        assertPlanUses("SELECT * FROM comments WHERE item_id IN (1, 2)",
+                "IDX_COMMENTS_ITEM", "FK_COMMENTS_TO_ITEMS");
+        assertPlanUses("SELECT * FROM requests WHERE requestor_id = 1 ORDER BY created DESC",
+                "IDX_REQUESTS_REQUESTOR_CREATED");
+    }
+
+    private void assertPlanUses(String sql, String... indexes) {
+        String plan = String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult())
+                .toUpperCase();
+        assertFalse(plan.contains("TABLESCAN"), () -> "Полный просмотр таблицы в плане:\n" + plan);
+        assertTrue(Arrays.stream(indexes).anyMatch(plan::contains),
+                () -> "Ожидался один из индексов " + Arrays.toString(indexes) + " в плане:\n" + plan);
+    }
+}
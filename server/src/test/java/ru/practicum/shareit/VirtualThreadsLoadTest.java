@@ -0,0 +1,124 @@
+package ru.practicum.shareit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Запуск на JDK 21+: mvn -pl server -am test -Dtest=VirtualThreadsLoadTest -Dsurefire.failIfNoSpecifiedTests=false
+ * -Dbenchmark=true
+ * Каждое соединение с H2 отдается с фиксированной задержкой, чтобы запрос держал соединение из пула,
+ * как при обращении к удаленной PostgreSQL. Размер пула Hikari одинаков в обоих прогонах.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@Slf4j
+class VirtualThreadsLoadTest {
+    private static final int CONCURRENCY = 1000;
+    private static final int WARMUP = 1000;
+    private static final int REQUESTS = 10_000;
+    private static final long DATABASE_DELAY_MS = 100;
+    private static final int POOL_SIZE = 20;
+
+    @Test
+    void virtualThreadsThroughputTest() throws Exception {
+        assumeTrue(Runtime.version().feature() >= 21, "Профиль virtual-threads требует JDK 21+");
+
+        measure("test");
+        measure("test", "virtual-threads");
+    }
+
+    private void measure(String... profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItServer.class)
+                .profiles(profiles)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .addBeanPostProcessor(new DatabaseDelay()))
+                .run("--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:load-" + profiles.length,
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "--spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+                        "--spring.datasource.hikari.connection-timeout=30000",
+                        "--logging.level.ru.practicum.shareit=WARN",
+                        "--logging.level.ru.practicum.shareit.VirtualThreadsLoadTest=INFO")) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .build();
+            HttpResponse<String> owner = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"name\":\"owner\",\"email\":\"owner@mail.ru\"}"))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            long ownerId = new ObjectMapper().readTree(owner.body()).get("id").asLong();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bookings"))
+                    .header("X-Sharer-User-Id", String.valueOf(ownerId))
+                    .build();
+            send(client, request, WARMUP);
+            long start = System.nanoTime();
+            send(client, request, REQUESTS);
+            double throughput = REQUESTS / ((System.nanoTime() - start) / 1_000_000_000.0);
+            log.info("Профили {}: {} запросов/с ({} одновременных клиентов, пул БД {})",
+                    List.of(profiles), Math.round(throughput), CONCURRENCY, POOL_SIZE);
+        }
+    }
+
+    private static void send(HttpClient client, HttpRequest request, int count) throws InterruptedException {
+        Semaphore permits = new Semaphore(CONCURRENCY);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<CompletableFuture<?>> responses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            permits.acquire();
+            responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        if (response != null && response.statusCode() == 200) {
+                            succeeded.incrementAndGet();
+                        }
+                        permits.release();
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+        assertEquals(count, succeeded.get());
+    }
+
+    private static class DatabaseDelay implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource((DataSource) bean) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    Connection connection = super.getConnection();
+                    try {
+                        Thread.sleep(DATABASE_DELAY_MS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return connection;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.booking.archive.ArchivedBookingStorage;
+import ru.practicum.shareit.booking.archive.BookingArchiveJob;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.enums.BookingState;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingArchiveJobTest extends BookingJobTest {
+
+    @Autowired
+    private ArchivedBookingStorage archivedBookingStorage;
+
+    private BookingArchiveJob job;
+
+    @BeforeEach
+    void init() {
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('DAY', -40 - X, NOW()), DATEADD('DAY', -40, NOW()), 1, 2, 'APPROVED' " +
+                "FROM SYSTEM_RANGE(1, 5)");
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('DAY', -X, NOW()), DATEADD('HOUR', -X, NOW()), 1, 2, 'APPROVED' " +
+                "FROM SYSTEM_RANGE(1, 2)");
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('DAY', X, NOW()), DATEADD('DAY', X + 1, NOW()), 1, 2, 'WAITING' " +
+                "FROM SYSTEM_RANGE(1, 2)");
+        job = new BookingArchiveJob(bookingStorage, archivedBookingStorage, bookingIntervalIndex(),
+                transactionTemplate(), meterRegistry, Duration.ofDays(30), 2);
+    }
+
+    @Test
+    void archiveMovesBookingsEndedBeforeRetentionInBatchesTest() {
+        assertEquals(5, job.archive());
+
+        assertEquals(4, bookingStorage.count());
+        assertEquals(5, archivedBookingStorage.count());
+        assertEquals(5, meterRegistry.counter("bookings.archived").count());
+        assertEquals(1, meterRegistry.timer("bookings.archive").count());
+        assertEquals(0, job.archive());
+    }
+
+    @Test
+    void archivedBookingsKeepTheirIdsAndViewsTest() {
+        List<Long> ids = ids("SELECT booking_id FROM bookings WHERE end_date < DATEADD('DAY', -30, NOW()) " +
+                "ORDER BY booking_id");
+
+        job.archive();
+
+        List<BookingView> archived = bookingStorage.findByBookerIdWithArchive(2L, BookingState.PAST,
+                LocalDateTime.now().minusDays(30), 0, 10);
+        assertEquals(5, archived.size());
+        assertTrue(archived.stream().allMatch(booking -> ids.contains(booking.getId())));
+        assertTrue(archived.get(0).getStart().isAfter(archived.get(4).getStart()));
+        assertEquals(1L, archivedBookingStorage.findViewById(ids.get(0)).orElseThrow().getItemOwnerId());
+        assertTrue(archivedBookingStorage.existsByBookerIdAndItemIdAndEndBefore(2L, 1L, LocalDateTime.now()));
+        assertEquals(1, archivedBookingStorage.getLastBookings(List.of(1L)).size());
+    }
+
+    @Test
+    void archiveKeepsUnresolvedWaitingBookingsTest() {
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "VALUES (DATEADD('DAY', -41, NOW()), DATEADD('DAY', -40, NOW()), 1, 2, 'WAITING')");
+
+        assertEquals(5, job.archive());
+
+        assertEquals(5, bookingStorage.count());
+        assertEquals(5, archivedBookingStorage.count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> ids(String sql) {
+        return ((List<Number>) entityManager.createNativeQuery(sql).getResultList()).stream()
+                .map(Number::longValue)
+                .collect(Collectors.toList());
+    }
+}
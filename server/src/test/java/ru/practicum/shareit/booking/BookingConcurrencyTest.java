@@ -0,0 +1,157 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingDtoRequest;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.BookingException;
+import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDtoRequest;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingConcurrencyTest {
+    private static final int BOOKINGS = 20;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingStorage bookingStorage;
+
+    @Autowired
+    private ItemService itemService;
+
+    @Autowired
+    private UserService userService;
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    private final List<Long> bookingIds = new ArrayList<>();
+    private Long ownerId;
+
+    @BeforeEach
+    void init() {
+        ownerId = userService.createUser(new UserDtoRequest(null, "owner", "owner@mail.ru")).getId();
+        Long bookerId = userService.createUser(new UserDtoRequest(null, "booker", "booker@mail.ru")).getId();
+        Long itemId = itemService.createItem(ItemDtoRequest.builder()
+                .name("name")
+                .description("descr")
+                .available(true)
+                .build(), ownerId).getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookingIds.add(bookingService.createBooking(
+                    new BookingDtoRequest(start.plusDays(i), start.plusDays(i).plusHours(1), itemId), bookerId).getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentApprovalsApplyOnceTest() throws Exception {
+        Map<Long, BookingStatus> applied = run(8, call -> true);
+
+        for (Long bookingId : bookingIds) {
+            Booking booking = bookingStorage.findById(bookingId).orElseThrow();
+            assertEquals(BookingStatus.APPROVED, applied.get(bookingId));
+            assertEquals(BookingStatus.APPROVED, booking.getStatus());
+            assertEquals(1L, booking.getVersion());
+        }
+    }
+
+    @Test
+    void approvalRacingRejectionLosesNoUpdateTest() throws Exception {
+        Map<Long, BookingStatus> applied = run(8, call -> call % 2 == 0);
+
+        for (Long bookingId : bookingIds) {
+            Booking booking = bookingStorage.findById(bookingId).orElseThrow();
+            assertEquals(applied.get(bookingId), booking.getStatus());
+            assertEquals(1L, booking.getVersion());
+        }
+    }
+
+    @Test
+    void concurrentBatchRejectionsReportEachBookingOnceTest() throws Exception {
+        Map<Long, AtomicInteger> reported = new ConcurrentHashMap<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                bookingService.changeStates(bookingIds, false, ownerId).stream()
+                        .filter(outcome -> outcome.getBooking() != null)
+                        .forEach(outcome -> reported.computeIfAbsent(outcome.getBooking().getId(),
+                                id -> new AtomicInteger()).incrementAndGet());
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+
+        assertEquals(BOOKINGS, reported.size());
+        for (Long bookingId : bookingIds) {
+            Booking booking = bookingStorage.findById(bookingId).orElseThrow();
+            assertEquals(1, reported.get(bookingId).get());
+            assertEquals(BookingStatus.REJECTED, booking.getStatus());
+            assertEquals(1L, booking.getVersion());
+        }
+    }
+
+    private Map<Long, BookingStatus> run(int callsPerBooking, IntPredicate approved) throws Exception {
+        Map<Long, BookingStatus> applied = new ConcurrentHashMap<>();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long bookingId : bookingIds) {
+            for (int i = 0; i < callsPerBooking; i++) {
+                boolean approve = approved.test(i);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        BookingStatus status = bookingService.changeState(bookingId, approve, ownerId).getStatus();
+                        assertNull(applied.putIfAbsent(bookingId, status));
+                    } catch (BookingException e) {
+                        conflicts.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        assertEquals(BOOKINGS, applied.size());
+        assertEquals(BOOKINGS * (callsPerBooking - 1), conflicts.get());
+        return applied;
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingBatchDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingCursorDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.enums.BookingState;
@@ -21,6 +23,7 @@ import java.util.List;
 
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -56,6 +59,52 @@ class BookingControllerTest {
         verify(bookingService, times(1)).createBooking(any(BookingDtoRequest.class), anyLong());
     }
 
+    @Test
+    void createBookingsTest() throws Exception {
+        List<BookingBatchDtoResponse> response = List.of(
+                new BookingBatchDtoResponse(0, createResponse(), null),
+                new BookingBatchDtoResponse(1, null, "Вещь недоступна для бронирования"));
+
+        when(bookingService.createBookings(anyList(), anyLong()))
+                .thenReturn(response);
+
+        mvc.perform(post("/bookings/batch")
+                        .content(mapper.writeValueAsString(List.of(createRequest(), createRequest())))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_HEADER, 2L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$[0].booking.id", Matchers.is(1)))
+                .andExpect(jsonPath("$[1].index", Matchers.is(1)))
+                .andExpect(jsonPath("$[1].error", Matchers.is("Вещь недоступна для бронирования")));
+        verify(bookingService, times(1)).createBookings(anyList(), eq(2L));
+    }
+
+    @Test
+    void changeStatesTest() throws Exception {
+        List<BookingBatchDtoResponse> response = List.of(
+                new BookingBatchDtoResponse(0, createResponse(), null),
+                new BookingBatchDtoResponse(1, null, "Пользователь с ID 2 не является владельцем"));
+
+        when(bookingService.changeStates(anyList(), anyBoolean(), anyLong()))
+                .thenReturn(response);
+
+        mvc.perform(patch("/bookings/owner/batch")
+                        .param("approved", "true")
+                        .content(mapper.writeValueAsString(List.of(1L, 2L)))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_HEADER, 2L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(jsonPath("$[0].booking.id", Matchers.is(1)))
+                .andExpect(jsonPath("$[1].error", Matchers.is("Пользователь с ID 2 не является владельцем")));
+        verify(bookingService, times(1)).changeStates(List.of(1L, 2L), true, 2L);
+    }
+
     @Test
     void changeStateTest() throws Exception {
         BookingDtoResponse response = createResponse();
@@ -129,6 +178,44 @@ class BookingControllerTest {
     }
 
 
+    @Test
+    void getOwnBookingsByCursorTest() throws Exception {
+        List<BookingDtoResponse> responses = List.of(createResponse());
+
+        when(bookingService.getOwnBookingsByCursor(any(BookingState.class), anyLong(), anyString(), anyInt()))
+                .thenReturn(new BookingCursorDtoResponse(responses, "next"));
+
+        mvc.perform(get("/bookings")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("cursor", "")
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$", Matchers.hasSize(1)))
+                .andExpect(jsonPath("$.[0].id", Matchers.is(responses.get(0).getId()), Long.class));
+        verify(bookingService, never()).getOwnBookings(any(BookingState.class), anyLong(), anyInt(), anyInt());
+    }
+
+    @Test
+    void getOwnItemsBookingsByCursorTest_LastPage() throws Exception {
+        when(bookingService.getOwnItemsBookingsByCursor(any(BookingState.class), anyLong(), anyString(), anyInt()))
+                .thenReturn(new BookingCursorDtoResponse(List.of(createResponse()), null));
+
+        mvc.perform(get("/bookings/owner")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("cursor", "abc")
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$", Matchers.hasSize(1)));
+        verify(bookingService, times(1)).getOwnItemsBookingsByCursor(
+                BookingState.ALL, 1L, "abc", 10);
+    }
+
     private BookingDtoResponse createResponse() {
         return new BookingDtoResponse(
                 1L,
@@ -0,0 +1,165 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.FreeSlotDtoResponse;
+import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+import ru.practicum.shareit.exception.BookingException;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingIntervalIndexTest {
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private BookingStorage bookingStorage;
+    private BookingIntervalIndex index;
+    private final AtomicLong ids = new AtomicLong(100);
+    private final UnaryOperator<Booking> save = booking -> {
+        booking.setId(ids.incrementAndGet());
+        return booking;
+    };
+
+    @BeforeEach
+    void init() {
+        bookingStorage = mock(BookingStorage.class);
+        index = new BookingIntervalIndex(bookingStorage, 100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void reserveRejectsOverlapsAndAllowsAdjacentPeriodsTest() {
+        index.reserve(booking(10, 20), save);
+
+        assertThrows(BookingException.class, () -> index.reserve(booking(15, 25), save));
+        assertThrows(BookingException.class, () -> index.reserve(booking(5, 11), save));
+        assertThrows(BookingException.class, () -> index.reserve(booking(12, 18), save));
+        assertThrows(BookingException.class, () -> index.reserve(booking(0, 30), save));
+        index.reserve(booking(20, 30), save);
+        index.reserve(booking(0, 10), save);
+        assertThrows(BookingException.class, () -> index.reserve(booking(29, 31), save));
+        verify(bookingStorage, times(1)).findIntervalsByItemId(eq(1L), anyCollection());
+    }
+
+    @Test
+    void releaseRebuildsCoverageOfOverlappingStoredBookingsTest() {
+        when(bookingStorage.findIntervalsByItemId(eq(1L), anyCollection()))
+                .thenReturn(List.of(new BookingInterval(1L, at(0), at(50)), new BookingInterval(2L, at(10), at(20))));
+
+        assertThrows(BookingException.class, () -> index.reserve(booking(30, 40), save));
+        index.releaseAfterCommit(1L, 1L);
+
+        index.reserve(booking(30, 40), save);
+        assertThrows(BookingException.class, () -> index.reserve(booking(15, 16), save));
+    }
+
+    @Test
+    void rollbackReleasesReservedPeriodTest() {
+        TransactionSynchronizationManager.initSynchronization();
+        index.reserve(booking(10, 20), save);
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        TransactionSynchronizationManager.clearSynchronization();
+
+        assertEquals(15, index.reserve(booking(15, 25), save).getStart().getHour());
+    }
+
+    @Test
+    void evictionKeepsUncommittedReservationsTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch reserved = new CountDownLatch(1);
+            CountDownLatch checked = new CountDownLatch(1);
+            Future<?> first = executor.submit(() -> {
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    index.reserve(booking(10, 20), save);
+                    reserved.countDown();
+                    checked.await();
+                    TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                            synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+                return null;
+            });
+            reserved.await(5, TimeUnit.SECONDS);
+            index.evictAfterCommit(List.of(1L));
+
+            Future<?> second = executor.submit(() -> index.reserve(booking(15, 25), save));
+            ExecutionException exception = assertThrows(ExecutionException.class,
+                    () -> second.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(BookingException.class, exception.getCause());
+            checked.countDown();
+            first.get(5, TimeUnit.SECONDS);
+
+            index.evictAfterCommit(List.of(1L));
+            assertEquals(15, executor.submit(() -> index.reserve(booking(15, 25), save))
+                    .get(5, TimeUnit.SECONDS).getStart().getHour());
+            verify(bookingStorage, times(3)).findIntervalsByItemId(eq(1L), anyCollection());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void freeSlotsFollowReservationsAndReleasesTest() {
+        index.reserve(booking(10, 20), save);
+        Long reserved = index.reserve(booking(20, 25), save).getId();
+        index.reserve(booking(30, 40), save);
+
+        List<FreeSlotDtoResponse> slots = index.getFreeSlots(1L, at(15), at(35));
+        assertEquals(1, slots.size());
+        assertEquals(at(25), slots.get(0).getStart());
+        assertEquals(at(30), slots.get(0).getEnd());
+
+        index.releaseAfterCommit(1L, reserved);
+
+        slots = index.getFreeSlots(1L, at(0), at(50));
+        assertEquals(3, slots.size());
+        assertEquals(at(20), slots.get(1).getStart());
+        assertEquals(at(40), slots.get(2).getStart());
+        assertEquals(at(50), slots.get(2).getEnd());
+    }
+
+    private static Booking booking(int startHour, int endHour) {
+        return new Booking(null, at(startHour), at(endHour), new Item(1L, "name", "descr", true, null, null),
+                new User(2L, "name", "test@mail.ru"), BookingStatus.WAITING, null);
+    }
+
+    private static LocalDateTime at(int hour) {
+        return BASE.plusHours(hour);
+    }
+}
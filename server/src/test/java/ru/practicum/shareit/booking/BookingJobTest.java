@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.JpaFixtureTest;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
+
+@Sql("/owner-booker-item.sql")
+abstract class BookingJobTest extends JpaFixtureTest {
+
+    @Autowired
+    protected BookingStorage bookingStorage;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    protected final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    protected BookingIntervalIndex bookingIntervalIndex() {
+        return new BookingIntervalIndex(bookingStorage, 100);
+    }
+
+    protected TransactionTemplate transactionTemplate() {
+        return new TransactionTemplate(transactionManager);
+    }
+}
@@ -5,10 +5,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.archive.BookingArchiveJob;
+import ru.practicum.shareit.booking.dto.BookingBatchDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingCursorDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
 import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.service.ItemService;
@@ -16,11 +21,14 @@ import ru.practicum.shareit.user.dto.UserDtoRequest;
 import ru.practicum.shareit.user.dto.UserDtoResponse;
 import ru.practicum.shareit.user.service.UserService;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 @Transactional
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
@@ -36,6 +44,12 @@ class BookingServiceIntTest {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BookingArchiveJob bookingArchiveJob;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void createBookingTest() {
         UserDtoResponse user = createUser();
@@ -55,6 +69,95 @@ class BookingServiceIntTest {
         assertEquals(user2.getId(), result.getBooker().getId());
     }
 
+    @Test
+    void createBookingsTest() {
+        UserDtoResponse user = createUser();
+        ItemDtoResponse item1 = createItem(user);
+        ItemDtoResponse item2 = createItem(user);
+        UserDtoResponse user2 = createUser2();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        List<BookingBatchDtoResponse> result = bookingService.createBookings(List.of(
+                new BookingDtoRequest(start, start.plusDays(1), item1.getId()),
+                new BookingDtoRequest(start, start.plusDays(1), item2.getId()),
+                new BookingDtoRequest(start, start.plusDays(1), item1.getId()),
+                new BookingDtoRequest(start, start.plusDays(1), 999L)), user2.getId());
+
+        assertEquals(4, result.size());
+        assertEquals("Вещь с ID 999 не существует", result.get(3).getError());
+        assertEquals(item2.getId(), result.get(1).getBooking().getItem().getId());
+        assertNull(result.get(2).getBooking());
+        assertEquals(2, bookingService.getOwnBookings(BookingState.FUTURE, user2.getId(), 0, 10).size());
+    }
+
+    @Test
+    void changeStatesTest() {
+        UserDtoResponse user = createUser();
+        ItemDtoResponse item = createItem(user);
+        UserDtoResponse user2 = createUser2();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = bookingService.createBookings(List.of(
+                new BookingDtoRequest(start, start.plusDays(1), item.getId()),
+                new BookingDtoRequest(start.plusDays(1), start.plusDays(2), item.getId())), user2.getId()).stream()
+                .map(outcome -> outcome.getBooking().getId())
+                .collect(Collectors.toList());
+
+        List<BookingBatchDtoResponse> foreign = bookingService.changeStates(bookingIds, true, user2.getId());
+        List<BookingBatchDtoResponse> result = bookingService.changeStates(
+                List.of(bookingIds.get(0), bookingIds.get(1), 999L), true, user.getId());
+
+        assertEquals(String.format("Пользователь с ID %s не является владельцем", user2.getId()),
+                foreign.get(0).getError());
+        assertEquals(BookingStatus.APPROVED, result.get(0).getBooking().getStatus());
+        assertEquals(BookingStatus.APPROVED, result.get(1).getBooking().getStatus());
+        assertEquals("Бронирования с ID 999 не существует", result.get(2).getError());
+        assertEquals(BookingStatus.APPROVED, bookingService.getBooking(bookingIds.get(1), user.getId()).getStatus());
+    }
+
+    @Test
+    void archivedBookingsStayVisibleTest() {
+        UserDtoResponse user = createUser();
+        ItemDtoResponse item = createItem(user);
+        UserDtoResponse user2 = createUser2();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Long> bookingIds = bookingService.createBookings(List.of(
+                new BookingDtoRequest(start, start.plusDays(1), item.getId()),
+                new BookingDtoRequest(start.plusDays(1), start.plusDays(2), item.getId()),
+                new BookingDtoRequest(start.plusDays(2), start.plusDays(3), item.getId())), user2.getId()).stream()
+                .map(outcome -> outcome.getBooking().getId())
+                .collect(Collectors.toList());
+        bookingService.changeState(bookingIds.get(0), true, user.getId());
+        bookingService.changeState(bookingIds.get(1), false, user.getId());
+        entityManager.createNativeQuery("UPDATE bookings " +
+                        "SET start_date = DATEADD('DAY', -40 - booking_id, NOW()), end_date = DATEADD('DAY', -40, NOW()) " +
+                        "WHERE booking_id IN (:bookingIds)")
+                .setParameter("bookingIds", bookingIds.subList(0, 2))
+                .executeUpdate();
+        entityManager.clear();
+
+        assertEquals(2, bookingArchiveJob.archive());
+
+        assertEquals(2, bookingService.getOwnBookings(BookingState.PAST, user2.getId(), 0, 10).size());
+        assertEquals(1, bookingService.getOwnBookings(BookingState.FUTURE, user2.getId(), 0, 10).size());
+        List<BookingDtoResponse> all = bookingService.getOwnItemsBookings(BookingState.ALL, user.getId(), 0, 10);
+        assertEquals(List.of(bookingIds.get(2), bookingIds.get(0), bookingIds.get(1)), ids(all));
+        assertEquals(bookingIds.get(0), bookingService.getOwnBookings(
+                BookingState.ALL, user2.getId(), 1, 1).get(0).getId());
+        BookingCursorDtoResponse page = bookingService.getOwnBookingsByCursor(BookingState.ALL, user2.getId(), null, 2);
+        assertEquals(2, page.getBookings().size());
+        assertEquals(bookingIds.get(1), bookingService.getOwnBookingsByCursor(
+                BookingState.ALL, user2.getId(), page.getNextCursor(), 2).getBookings().get(0).getId());
+        assertEquals(List.of(bookingIds.get(1)), ids(bookingService.getOwnBookings(
+                BookingState.REJECTED, user2.getId(), 0, 10)));
+        assertEquals(List.of(bookingIds.get(1)), ids(bookingService.getOwnItemsBookings(
+                BookingState.REJECTED, user.getId(), 0, 10)));
+        assertEquals(List.of(bookingIds.get(1)), ids(bookingService.getOwnItemsBookingsByCursor(
+                BookingState.REJECTED, user.getId(), null, 10).getBookings()));
+        assertEquals(BookingStatus.APPROVED, bookingService.getBooking(bookingIds.get(0), user2.getId()).getStatus());
+        assertEquals(bookingIds.get(0), itemService.getItem(item.getId(), user.getId()).getLastBooking().getId());
+        assertNotNull(itemService.createComment(new CommentDtoRequest("text"), item.getId(), user2.getId()));
+    }
+
     @Test
     void getOwnItemsBookingTest() {
         UserDtoResponse user = createUser();
@@ -114,5 +217,11 @@ class BookingServiceIntTest {
         return itemService.createItem(req, user.getId());
     }
 
+    private List<Long> ids(List<BookingDtoResponse> bookings) {
+        return bookings.stream()
+                .map(BookingDtoResponse::getId)
+                .collect(Collectors.toList());
+    }
+
 
 }
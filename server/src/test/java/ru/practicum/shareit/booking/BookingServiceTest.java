@@ -1,27 +1,40 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import ru.practicum.shareit.booking.archive.ArchivedBookingStorage;
+import ru.practicum.shareit.booking.dto.BookingBatchDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingCursorDtoResponse;
 import ru.practicum.shareit.booking.dto.BookingDtoRequest;
 import ru.practicum.shareit.booking.dto.BookingDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.exception.BookingException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.storage.ItemStorage;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserStorage;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +44,7 @@ class BookingServiceTest {
     private BookingStorage bookingStorage;
     private ItemStorage itemStorage;
     private UserStorage userStorage;
+    private ArchivedBookingStorage archivedBookingStorage;
     private BookingService bookingService;
 
     @BeforeEach
@@ -38,7 +52,10 @@ class BookingServiceTest {
         bookingStorage = mock(BookingStorage.class);
         itemStorage = mock(ItemStorage.class);
         userStorage = mock(UserStorage.class);
-        bookingService = new BookingServiceImpl(bookingStorage, itemStorage, userStorage);
+        archivedBookingStorage = mock(ArchivedBookingStorage.class);
+        bookingService = new BookingServiceImpl(bookingStorage, itemStorage, userStorage,
+                new ItemViewCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)),
+                new BookingIntervalIndex(bookingStorage, 100), archivedBookingStorage);
     }
 
     @Test
@@ -102,23 +119,135 @@ class BookingServiceTest {
         assertEquals("Вы не можете забронировать свою же вещь!", exception.getMessage());
     }
 
+    @Test
+    void createBookingTest_ThrowOverlap() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        when(itemStorage.findById(anyLong()))
+                .thenReturn(Optional.of(createItem()));
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.of(createUser()));
+        when(bookingStorage.findIntervalsByItemId(eq(1L), anyCollection()))
+                .thenReturn(List.of(new BookingInterval(7L, start, start.plusDays(2))));
+
+        BookingDtoRequest request = new BookingDtoRequest(start.plusDays(1), start.plusDays(3), 1L);
+        Throwable exception = assertThrows(
+                BookingException.class,
+                () -> bookingService.createBooking(request, 2L)
+        );
+        assertTrue(exception.getMessage().startsWith("Вещь с ID 1 уже забронирована"));
+        verify(bookingStorage, never()).save(any());
+    }
+
+    @Test
+    void createBookingsTest_PartialFailure() {
+        Item unavailable = new Item(3L, "name", "descr", false, createUser(), null);
+        when(userStorage.findById(2L))
+                .thenReturn(Optional.of(new User(2L, "booker", "booker@mail.ru")));
+        when(itemStorage.findAllById(anyCollection()))
+                .thenReturn(List.of(createItem(), unavailable));
+        AtomicLong ids = new AtomicLong();
+        when(bookingStorage.save(any(Booking.class)))
+                .thenAnswer(invocation -> {
+                    Booking booking = invocation.getArgument(0);
+                    booking.setId(ids.incrementAndGet());
+                    return booking;
+                });
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDtoRequest> requests = List.of(
+                new BookingDtoRequest(start, start.plusHours(1), 1L),
+                new BookingDtoRequest(start, start.plusHours(1), 2L),
+                new BookingDtoRequest(start, start.plusHours(1), 3L),
+                new BookingDtoRequest(start.plusHours(1), start, 1L),
+                new BookingDtoRequest(start.plusHours(2), start.plusHours(3), 1L),
+                new BookingDtoRequest(start.plusMinutes(30), start.plusHours(2), 1L));
+        List<BookingBatchDtoResponse> result = bookingService.createBookings(requests, 2L);
+
+        assertEquals(6, result.size());
+        assertNotNull(result.get(0).getBooking());
+        assertNull(result.get(0).getError());
+        assertEquals("Вещь с ID 2 не существует", result.get(1).getError());
+        assertEquals("Вещь недоступна для бронирования", result.get(2).getError());
+        assertEquals("Окончание бронирования должно быть позже начала бронирования", result.get(3).getError());
+        assertNotNull(result.get(4).getBooking());
+        assertTrue(result.get(5).getError().startsWith("Вещь с ID 1 уже забронирована"));
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(i, result.get(i).getIndex());
+        }
+        verify(itemStorage, times(1)).findAllById(Set.of(1L, 2L, 3L));
+        verify(userStorage, times(1)).findById(2L);
+        verify(bookingStorage, times(2)).save(any(Booking.class));
+        verify(itemStorage, never()).findById(anyLong());
+    }
+
+    @Test
+    void createBookingsTest_NullAndInvalidEntries() {
+        when(userStorage.findById(2L))
+                .thenReturn(Optional.of(new User(2L, "booker", "booker@mail.ru")));
+        when(itemStorage.findAllById(anyCollection()))
+                .thenReturn(List.of(createItem()));
+        when(bookingStorage.save(any(Booking.class)))
+                .thenAnswer(invocation -> {
+                    Booking booking = invocation.getArgument(0);
+                    booking.setId(1L);
+                    return booking;
+                });
+
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<BookingDtoRequest> requests = Arrays.asList(
+                null,
+                new BookingDtoRequest(start, start.plusHours(1), null),
+                new BookingDtoRequest(null, start.plusHours(1), 1L),
+                new BookingDtoRequest(start, start.plusHours(1), 1L));
+        List<BookingBatchDtoResponse> result = bookingService.createBookings(requests, 2L);
+
+        assertEquals(4, result.size());
+        assertEquals("Бронирование не должно быть пустым", result.get(0).getError());
+        assertEquals("ID вещи не должен быть пустым", result.get(1).getError());
+        assertEquals("Начало и окончание бронирования не должны быть пустыми", result.get(2).getError());
+        assertNotNull(result.get(3).getBooking());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(i, result.get(i).getIndex());
+        }
+        verify(bookingStorage, times(1)).save(any(Booking.class));
+    }
+
+    @Test
+    void createBookingsTest_ThrowNoUser() {
+        when(userStorage.findById(anyLong()))
+                .thenReturn(Optional.empty());
+
+        List<BookingDtoRequest> requests = List.of(createRequest());
+        Throwable exception = assertThrows(
+                NotFoundException.class,
+                () -> bookingService.createBookings(requests, 5L)
+        );
+        assertEquals("Пользователь с ID 5 не существует", exception.getMessage());
+        verify(bookingStorage, never()).save(any());
+    }
+
     @Test
     void changeStateTest() {
-        Booking booking = createBooking();
-        booking.setStatus(BookingStatus.REJECTED);
-        when(bookingStorage.findById(anyLong()))
+        BookingView booking = createBookingView();
+        when(bookingStorage.updateStatusIfWaiting(1L, 1L, BookingStatus.APPROVED))
+                .thenReturn(1);
+        when(bookingStorage.findViewById(1L))
                 .thenReturn(Optional.of(booking));
 
         BookingDtoResponse result = bookingService.changeState(1L, true, 1L);
         assertNotNull(result);
         assertEquals(BookingStatus.APPROVED, result.getStatus());
+        verify(bookingStorage, never()).findById(anyLong());
     }
 
     @Test
     void changeState2Test() {
-        Booking booking = createBooking();
-        booking.setStatus(BookingStatus.REJECTED);
-        when(bookingStorage.findById(anyLong()))
+        BookingView approved = createBookingView();
+        BookingView booking = new BookingView(1L, approved.getStart(), approved.getEnd(), BookingStatus.REJECTED,
+                1L, "name", "descr", true, null, 1L, 1L, "name", "test@mail.ru");
+        when(bookingStorage.updateStatusIfWaiting(1L, 1L, BookingStatus.REJECTED))
+                .thenReturn(1);
+        when(bookingStorage.findViewById(1L))
                 .thenReturn(Optional.of(booking));
 
         BookingDtoResponse result = bookingService.changeState(1L, false, 1L);
@@ -126,10 +255,101 @@ class BookingServiceTest {
         assertEquals(BookingStatus.REJECTED, result.getStatus());
     }
 
+    @Test
+    void changeStatesTest() {
+        BookingView approved = createBookingView();
+        BookingView waiting = new BookingView(1L, approved.getStart(), approved.getEnd(), BookingStatus.WAITING,
+                1L, "name", "descr", true, null, 1L, 1L, "name", "test@mail.ru");
+        BookingView foreign = new BookingView(2L, approved.getStart(), approved.getEnd(), BookingStatus.WAITING,
+                2L, "name", "descr", true, null, 5L, 1L, "name", "test@mail.ru");
+        BookingView rejected = new BookingView(3L, approved.getStart(), approved.getEnd(), BookingStatus.REJECTED,
+                1L, "name", "descr", true, null, 1L, 1L, "name", "test@mail.ru");
+        when(bookingStorage.lockWaitingIds(List.of(1L, 2L, 3L, 4L), 1L))
+                .thenReturn(List.of(1L));
+        when(bookingStorage.updateStatusesIfWaiting(Set.of(1L), 1L, BookingStatus.APPROVED))
+                .thenReturn(1);
+        when(bookingStorage.findViewsByIdIn(List.of(1L, 2L, 3L, 4L)))
+                .thenReturn(List.of(approved, foreign, rejected));
+
+        List<BookingBatchDtoResponse> result = bookingService.changeStates(List.of(1L, 2L, 3L, 4L), true, 1L);
+
+        assertEquals(4, result.size());
+        assertEquals(BookingStatus.APPROVED, result.get(0).getBooking().getStatus());
+        assertEquals("Пользователь с ID 1 не является владельцем", result.get(1).getError());
+        assertEquals("Невозможно изменить бронирование в статусе REJECTED", result.get(2).getError());
+        assertEquals("Бронирования с ID 4 не существует", result.get(3).getError());
+        verify(bookingStorage, times(1)).updateStatusesIfWaiting(anyCollection(), anyLong(), any());
+    }
+
+    @Test
+    void changeStatesTest_NothingToChange() {
+        when(bookingStorage.findViewsByIdIn(List.of(1L)))
+                .thenReturn(List.of(createBookingView()));
+
+        List<BookingBatchDtoResponse> result = bookingService.changeStates(List.of(1L), false, 1L);
+
+        assertEquals("Невозможно подтвердить подтвержденное бронирование", result.get(0).getError());
+        verify(bookingStorage, never()).updateStatusesIfWaiting(anyCollection(), anyLong(), any());
+    }
+
+    @Test
+    void changeStatesTest_ConcurrentSameTransitionIsNotReported() {
+        BookingView approved = createBookingView();
+        BookingView rejected = new BookingView(1L, approved.getStart(), approved.getEnd(), BookingStatus.REJECTED,
+                1L, "name", "descr", true, null, 1L, 1L, "name", "test@mail.ru");
+        when(bookingStorage.findViewsByIdIn(List.of(1L)))
+                .thenReturn(List.of(rejected));
+
+        List<BookingBatchDtoResponse> result = bookingService.changeStates(List.of(1L), false, 1L);
+
+        assertEquals("Невозможно изменить бронирование в статусе REJECTED", result.get(0).getError());
+        verify(bookingStorage, never()).updateStatusesIfWaiting(anyCollection(), anyLong(), any());
+    }
+
+    @Test
+    void changeStatesTest_DuplicateIdChangesOnce() {
+        when(bookingStorage.lockWaitingIds(List.of(1L, 1L), 1L))
+                .thenReturn(List.of(1L));
+        when(bookingStorage.findViewsByIdIn(List.of(1L, 1L)))
+                .thenReturn(List.of(createBookingView()));
+
+        List<BookingBatchDtoResponse> result = bookingService.changeStates(List.of(1L, 1L), true, 1L);
+
+        assertEquals(BookingStatus.APPROVED, result.get(0).getBooking().getStatus());
+        assertEquals("Невозможно подтвердить подтвержденное бронирование", result.get(1).getError());
+    }
+
+    @Test
+    void changeStateTest_ThrowRejected() {
+        BookingView approved = createBookingView();
+        BookingView booking = new BookingView(1L, approved.getStart(), approved.getEnd(), BookingStatus.REJECTED,
+                1L, "name", "descr", true, null, 1L, 1L, "name", "test@mail.ru");
+        when(bookingStorage.findViewById(1L))
+                .thenReturn(Optional.of(booking));
+
+        Throwable exception = assertThrows(
+                BookingException.class,
+                () -> bookingService.changeState(1L, true, 1L)
+        );
+        assertEquals("Невозможно изменить бронирование в статусе REJECTED", exception.getMessage());
+    }
+
+    @Test
+    void changeStateTest_ThrowNotFound() {
+        when(bookingStorage.findViewById(1L))
+                .thenReturn(Optional.empty());
+
+        Throwable exception = assertThrows(
+                NotFoundException.class,
+                () -> bookingService.changeState(1L, true, 1L)
+        );
+        assertEquals("Бронирования с ID 1 не существует", exception.getMessage());
+    }
+
     @Test
     void changeStateTest_ThrowOwner() {
-        when(bookingStorage.findById(anyLong()))
-                .thenReturn(Optional.of(createBooking()));
+        when(bookingStorage.findViewById(anyLong()))
+                .thenReturn(Optional.of(createBookingView()));
 
         Throwable exception = assertThrows(
                 NotFoundException.class,
@@ -140,8 +360,8 @@ class BookingServiceTest {
 
     @Test
     void changeStateTest_throw_approved() {
-        when(bookingStorage.findById(anyLong()))
-                .thenReturn(Optional.of(createBooking()));
+        when(bookingStorage.findViewById(anyLong()))
+                .thenReturn(Optional.of(createBookingView()));
 
         Throwable exception = assertThrows(
                 BookingException.class,
@@ -176,18 +396,19 @@ class BookingServiceTest {
     void getOwnBookingsTest() {
         when(userStorage.existsUserById(anyLong()))
                 .thenReturn(true);
-        when(bookingStorage.findByBookerId(anyLong(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(createBooking())));
+        when(bookingStorage.findByBookerIdWithArchive(
+                anyLong(), any(BookingState.class), any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenReturn(new ArrayList<>());
+        when(bookingStorage.findByBookerIdWithArchive(
+                anyLong(), eq(BookingState.ALL), any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenReturn(List.of(createBookingView()));
         when(bookingStorage.findByBookerIdAndStatus(anyLong(), any(BookingStatus.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(new ArrayList<>()));
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
         when(bookingStorage.findByBookerIdCurrent(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(createBooking())));
-        when(bookingStorage.findByBookerIdAndEndIsBefore(
-                anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(new ArrayList<>()));
+                .thenReturn(new SliceImpl<>(List.of(createBookingView())));
         when(bookingStorage.findByBookerIdAndStartIsAfter(
                 anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(new ArrayList<>()));
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         List<BookingDtoResponse> result = bookingService.getOwnBookings(BookingState.ALL, 1L, 1, 1);
         assertNotNull(result);
@@ -229,16 +450,18 @@ class BookingServiceTest {
     void getOwnItemsBookingsTest() {
         when(userStorage.existsUserById(anyLong()))
                 .thenReturn(true);
-        when(bookingStorage.findBookingByItemOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(createBooking())));
+        when(bookingStorage.findByItemOwnerIdWithArchive(
+                anyLong(), any(BookingState.class), any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenReturn(new ArrayList<>());
+        when(bookingStorage.findByItemOwnerIdWithArchive(
+                anyLong(), eq(BookingState.ALL), any(LocalDateTime.class), anyLong(), anyInt()))
+                .thenReturn(List.of(createBookingView()));
         when(bookingStorage.findBookingByItemOwnerIdAndStatus(anyLong(), any(BookingStatus.class), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(new ArrayList<>()));
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
         when(bookingStorage.findBookingByItemOwnerCurrent(anyLong(),any(LocalDateTime.class),any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(createBooking())));
-        when(bookingStorage.findBookingByItemOwnerIdAndEndIsBefore(anyLong(),any(LocalDateTime.class),any(Pageable.class)))
-                .thenReturn(new PageImpl<>(new ArrayList<>()));
+                .thenReturn(new SliceImpl<>(List.of(createBookingView())));
         when(bookingStorage.findBookingByItemOwnerIdAndStartIsAfter(anyLong(),any(LocalDateTime.class),any(Pageable.class)))
-                .thenReturn(new PageImpl<>(new ArrayList<>()));
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
 
         List<BookingDtoResponse> result = bookingService.getOwnItemsBookings(BookingState.ALL, 1L, 1, 1);
         assertNotNull(result);
@@ -265,6 +488,74 @@ class BookingServiceTest {
         assertTrue(result6.isEmpty());
     }
 
+    @Test
+    void getOwnBookingsByCursorTest() {
+        BookingView first = createBookingView();
+        BookingView second = new BookingView(2L, first.getStart(), first.getEnd(), BookingStatus.WAITING,
+                1L, "name", "descr", true, null, 1L, 1L, "name", "test@mail.ru");
+        when(userStorage.existsUserById(anyLong()))
+                .thenReturn(true);
+        when(bookingStorage.findByBookerIdAfterCursor(
+                anyLong(), any(BookingState.class), any(LocalDateTime.class), isNull(), anyInt()))
+                .thenReturn(List.of(first, second));
+
+        BookingCursorDtoResponse result = bookingService.getOwnBookingsByCursor(BookingState.ALL, 1L, "", 1);
+
+        assertEquals(1, result.getBookings().size());
+        assertEquals(first.getId(), result.getBookings().get(0).getId());
+        assertNotNull(result.getNextCursor());
+        verify(bookingStorage).findByBookerIdAfterCursor(
+                eq(1L), eq(BookingState.ALL), any(LocalDateTime.class), isNull(), eq(2));
+
+        BookingCursor cursor = BookingCursor.decode(result.getNextCursor());
+        assertEquals(first.getId(), cursor.getId());
+        assertEquals(first.getStart(), cursor.getStart());
+    }
+
+    @Test
+    void getOwnItemsBookingsByCursorTest_LastPage() {
+        BookingView booking = createBookingView();
+        String cursor = new BookingCursor(LocalDateTime.now(), 5L).encode();
+        when(userStorage.existsUserById(anyLong()))
+                .thenReturn(true);
+        when(bookingStorage.findByItemOwnerIdAfterCursor(
+                anyLong(), any(BookingState.class), any(LocalDateTime.class), any(BookingCursor.class), anyInt()))
+                .thenReturn(List.of(booking));
+
+        BookingCursorDtoResponse result = bookingService.getOwnItemsBookingsByCursor(
+                BookingState.PAST, 1L, cursor, 1);
+
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getOwnBookingsByCursorTest_ThrowCursor() {
+        when(userStorage.existsUserById(anyLong()))
+                .thenReturn(true);
+
+        Throwable exception = assertThrows(ValidationException.class,
+                () -> bookingService.getOwnBookingsByCursor(BookingState.ALL, 1L, "broken", 1)
+        );
+        assertEquals("Некорректный курсор: broken", exception.getMessage());
+    }
+
+    @Test
+    void getBookingsByCursorTest_ThrowSize() {
+        when(userStorage.existsUserById(anyLong()))
+                .thenReturn(true);
+
+        Throwable exception = assertThrows(ValidationException.class,
+                () -> bookingService.getOwnBookingsByCursor(BookingState.ALL, 1L, "", 0)
+        );
+        assertEquals("Размер страницы должен быть больше нуля: 0", exception.getMessage());
+        exception = assertThrows(ValidationException.class,
+                () -> bookingService.getOwnItemsBookingsByCursor(BookingState.ALL, 1L, "", -1)
+        );
+        assertEquals("Размер страницы должен быть больше нуля: -1", exception.getMessage());
+        verifyNoInteractions(bookingStorage);
+    }
+
     private BookingDtoRequest createRequest() {
         return new BookingDtoRequest(LocalDateTime.now(), LocalDateTime.now().plusHours(1), 1L);
     }
@@ -275,7 +566,17 @@ class BookingServiceTest {
                 LocalDateTime.now().plusDays(1),
                 createItem(),
                 createUser(),
-                BookingStatus.APPROVED);
+                BookingStatus.APPROVED,
+                0L);
+    }
+
+    private BookingView createBookingView() {
+        return new BookingView(1L,
+                LocalDateTime.now().minusDays(1),
+                LocalDateTime.now().plusDays(1),
+                BookingStatus.APPROVED,
+                1L, "name", "descr", true, 1L, 1L,
+                1L, "name", "test@mail.ru");
     }
 
     private User createUser() {
@@ -4,9 +4,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingItemDtoResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.enums.BookingState;
 import ru.practicum.shareit.booking.enums.BookingStatus;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.storage.ItemStorage;
@@ -14,7 +18,9 @@ import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserStorage;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -72,41 +78,155 @@ class BookingStorageTest {
 
     @Test
     void findByBookerIdCurrentTest() {
-        Page<Booking> result = bookingStorage.findByBookerIdCurrent(
+        Slice<BookingView> result = bookingStorage.findByBookerIdCurrent(
                 booker.getId(), LocalDateTime.now(), Pageable.unpaged());
 
         assertNotNull(result);
         assertEquals(1, result.getSize());
-        assertEquals(booking, result.getContent().get(0));
+        assertEquals(booking.getId(), result.getContent().get(0).getId());
+        assertEquals(item.getName(), result.getContent().get(0).getItemName());
+        assertEquals(booker.getEmail(), result.getContent().get(0).getBookerEmail());
     }
 
     @Test
     void findBookingByItemOwnerCurrentTest() {
-        Page<Booking> result = bookingStorage.findBookingByItemOwnerCurrent(
+        Slice<BookingView> result = bookingStorage.findBookingByItemOwnerCurrent(
                 owner.getId(), LocalDateTime.now(), Pageable.unpaged());
 
         assertNotNull(result);
         assertEquals(1, result.getSize());
-        assertEquals(booking, result.getContent().get(0));
+        assertEquals(booking.getId(), result.getContent().get(0).getId());
+        assertEquals(item.getName(), result.getContent().get(0).getItemName());
+        assertEquals(booker.getEmail(), result.getContent().get(0).getBookerEmail());
     }
 
     @Test
     void getLastBookingTest() {
-        List<Booking> result = bookingStorage.getLastBooking(
-                LocalDateTime.now(), owner.getId(), item.getId());
+        bookingStorage.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(5))
+                .end(LocalDateTime.now().minusDays(4))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+
+        List<BookingItemDtoResponse> result = bookingStorage.getLastBooking(
+                LocalDateTime.now(), owner.getId(), item.getId(), PageRequest.of(0, 1));
+
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(booking.getId(), result.get(0).getId());
+        assertEquals(booker.getId(), result.get(0).getBookerId());
+    }
+
+    @Test
+    void getLastBookingsTest() {
+        Booking older = bookingStorage.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(5))
+                .end(LocalDateTime.now().minusDays(4))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+
+        List<Booking> result = bookingStorage.getLastBookings(List.of(item.getId()), LocalDateTime.now());
 
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(booking, result.get(0));
+        assertNotEquals(older, result.get(0));
+    }
+
+    @Test
+    void getNextBookingsTest() {
+        Booking next = bookingStorage.save(Booking.builder()
+                .start(LocalDateTime.now().plusDays(2))
+                .end(LocalDateTime.now().plusDays(3))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.APPROVED)
+                .build());
+        bookingStorage.save(Booking.builder()
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        List<Booking> result = bookingStorage.getNextBookings(List.of(item.getId()), LocalDateTime.now());
+
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        assertEquals(next, result.get(0));
     }
 
     @Test
     void getNextBookingTest() {
-        List<Booking> result = bookingStorage.getNextBooking(
-                LocalDateTime.now(), owner.getId(), item.getId());
+        List<BookingItemDtoResponse> result = bookingStorage.getNextBooking(
+                LocalDateTime.now(), owner.getId(), item.getId(), PageRequest.of(0, 1));
 
         assertNotNull(result);
         assertTrue(result.isEmpty());
     }
 
+
+    @Test
+    void findByBookerIdAfterCursorTest() {
+        Booking past = bookingStorage.save(Booking.builder()
+                .start(LocalDateTime.now().minusDays(5).truncatedTo(ChronoUnit.SECONDS))
+                .end(LocalDateTime.now().minusDays(4))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build());
+        Booking sameStart = bookingStorage.save(Booking.builder()
+                .start(past.getStart())
+                .end(past.getEnd())
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.REJECTED)
+                .build());
+
+        List<BookingView> firstPage = bookingStorage.findByBookerIdAfterCursor(
+                booker.getId(), BookingState.ALL, LocalDateTime.now(), null, 2);
+        assertEquals(List.of(booking.getId(), sameStart.getId()), ids(firstPage));
+
+        List<BookingView> secondPage = bookingStorage.findByBookerIdAfterCursor(
+                booker.getId(), BookingState.ALL, LocalDateTime.now(), BookingCursor.of(firstPage.get(1)), 2);
+        assertEquals(List.of(past.getId()), ids(secondPage));
+
+        assertEquals(List.of(sameStart.getId(), past.getId()), ids(bookingStorage.findByBookerIdAfterCursor(
+                booker.getId(), BookingState.PAST, LocalDateTime.now(), null, 10)));
+        assertEquals(List.of(sameStart.getId()), ids(bookingStorage.findByBookerIdAfterCursor(
+                booker.getId(), BookingState.REJECTED, LocalDateTime.now(), null, 10)));
+        assertTrue(bookingStorage.findByBookerIdAfterCursor(
+                owner.getId(), BookingState.ALL, LocalDateTime.now(), null, 10).isEmpty());
+    }
+
+    @Test
+    void findByItemOwnerIdAfterCursorTest() {
+        Booking future = bookingStorage.save(Booking.builder()
+                .start(LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.SECONDS))
+                .end(LocalDateTime.now().plusDays(4))
+                .item(item)
+                .booker(booker)
+                .status(BookingStatus.WAITING)
+                .build());
+
+        assertEquals(List.of(future.getId(), booking.getId()), ids(bookingStorage.findByItemOwnerIdAfterCursor(
+                owner.getId(), BookingState.ALL, LocalDateTime.now(), null, 10)));
+        assertEquals(List.of(booking.getId()), ids(bookingStorage.findByItemOwnerIdAfterCursor(
+                owner.getId(), BookingState.CURRENT, LocalDateTime.now(), null, 10)));
+        assertEquals(List.of(future.getId()), ids(bookingStorage.findByItemOwnerIdAfterCursor(
+                owner.getId(), BookingState.FUTURE, LocalDateTime.now(), null, 10)));
+        assertEquals(List.of(future.getId()), ids(bookingStorage.findByItemOwnerIdAfterCursor(
+                owner.getId(), BookingState.WAITING, LocalDateTime.now(), null, 10)));
+        assertEquals(List.of(booking.getId()), ids(bookingStorage.findByItemOwnerIdAfterCursor(
+                owner.getId(), BookingState.ALL, LocalDateTime.now(), new BookingCursor(future.getStart(), future.getId()), 10)));
+    }
+
+    private List<Long> ids(List<BookingView> bookings) {
+        return bookings.stream().map(BookingView::getId).collect(Collectors.toList());
+    }
 }
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.expiry.WaitingBookingExpiryJob;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WaitingBookingExpiryJobTest extends BookingJobTest {
+
+    private WaitingBookingExpiryJob job;
+
+    @BeforeEach
+    void init() {
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('HOUR', -X, NOW()), DATEADD('HOUR', 1, NOW()), 1, 2, 'WAITING' " +
+                "FROM SYSTEM_RANGE(1, 5)");
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('HOUR', X, NOW()), DATEADD('HOUR', X + 1, NOW()), 1, 2, 'WAITING' " +
+                "FROM SYSTEM_RANGE(1, 2)");
+        execute("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) " +
+                "SELECT DATEADD('HOUR', -X, NOW()), DATEADD('HOUR', 1, NOW()), 1, 2, 'APPROVED' " +
+                "FROM SYSTEM_RANGE(1, 2)");
+        job = new WaitingBookingExpiryJob(bookingStorage, bookingIntervalIndex(), transactionTemplate(),
+                meterRegistry, 2);
+    }
+
+    @Test
+    void expireCancelsStartedWaitingBookingsInBatchesTest() {
+        assertEquals(5, job.expire());
+
+        assertEquals(5, count("CANCELED"));
+        assertEquals(2, count("WAITING"));
+        assertEquals(2, count("APPROVED"));
+        assertEquals(5, meterRegistry.counter("bookings.expired").count());
+        assertEquals(1, meterRegistry.timer("bookings.expiry").count());
+    }
+
+    @Test
+    void expireSkipsAlreadyProcessedBookingsTest() {
+        job.expire();
+
+        assertEquals(0, job.expire());
+        assertEquals(5, meterRegistry.counter("bookings.expired").count());
+        assertEquals(2, meterRegistry.timer("bookings.expiry").count());
+    }
+
+    private long count(String status) {
+        return ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM bookings WHERE status = :status")
+                .setParameter("status", status)
+                .getSingleResult()).longValue();
+    }
+}
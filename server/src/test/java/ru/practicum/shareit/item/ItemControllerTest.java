@@ -9,8 +9,10 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.FreeSlotDtoResponse;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
 import ru.practicum.shareit.item.service.ItemService;
@@ -93,6 +95,26 @@ class ItemControllerTest {
         verify(itemService, times(1)).getItem(anyLong(), anyLong());
     }
 
+    @Test
+    void getAvailabilityTest() throws Exception {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        ItemAvailabilityDtoResponse response = new ItemAvailabilityDtoResponse(1L, from, from.plusDays(1),
+                List.of(new FreeSlotDtoResponse(from.plusHours(2), from.plusDays(1))));
+
+        when(itemService.getAvailability(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), anyLong()))
+                .thenReturn(response);
+
+        mvc.perform(get("/items/1/availability")
+                        .param("from", "2030-01-01T10:00:00")
+                        .param("to", "2030-01-02T10:00:00")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itemId", Matchers.is(1L), Long.class))
+                .andExpect(jsonPath("$.freeSlots[0].start", Matchers.is("2030-01-01T12:00:00")));
+        verify(itemService, times(1)).getAvailability(1L, from, from.plusDays(1), 1L);
+    }
+
     @Test
     void getOwnItemsTest() throws Exception {
         List<ItemDtoResponse> response = List.of(createResponse());
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.item.dto.ItemSearchView;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.storage.ItemStorage;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ItemSearchIndexTest {
+
+    private ItemStorage itemStorage;
+    private ItemSearchIndex itemSearchIndex;
+
+    @BeforeEach
+    void init() {
+        itemStorage = mock(ItemStorage.class);
+        itemSearchIndex = new ItemSearchIndex(itemStorage, mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void searchBySubstringTest() {
+        itemSearchIndex.index(createItem(1L, "Item Name", "descr", true));
+
+        assertEquals(List.of(1L), itemSearchIndex.search("eS", 0, 10));
+        assertEquals(List.of(1L), itemSearchIndex.search("item n", 0, 10));
+        assertTrue(itemSearchIndex.search("absent", 0, 10).isEmpty());
+        assertTrue(itemSearchIndex.search("", 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchSkipsUnavailableItemsTest() {
+        itemSearchIndex.index(createItem(1L, "Дрель", "Простая дрель", false));
+        itemSearchIndex.index(createItem(2L, "Отвертка", "Аккумуляторная дрель", true));
+
+        assertEquals(List.of(2L), itemSearchIndex.search("дрель", 0, 10));
+    }
+
+    @Test
+    void searchRanksNameMatchesFirstTest() {
+        itemSearchIndex.index(createItem(1L, "Отвертка", "Аккумуляторная дрель", true));
+        itemSearchIndex.index(createItem(2L, "Дрельщик", "Набор", true));
+        itemSearchIndex.index(createItem(3L, "Дрель", "Простая дрель", true));
+
+        assertEquals(List.of(3L, 2L, 1L), itemSearchIndex.search("ДРЕЛЬ", 0, 10));
+        assertEquals(List.of(2L), itemSearchIndex.search("дрель", 1, 1));
+    }
+
+    @Test
+    void reindexReplacesPreviousTextTest() {
+        itemSearchIndex.index(createItem(1L, "Дрель", "Простая дрель", true));
+        itemSearchIndex.index(createItem(1L, "Пила", "Ручная пила", true));
+
+        assertTrue(itemSearchIndex.search("дрель", 0, 10).isEmpty());
+        assertEquals(List.of(1L), itemSearchIndex.search("пила", 0, 10));
+    }
+
+    @Test
+    void rebuildTest() {
+        itemSearchIndex.index(createItem(5L, "Старое", "Старое", true));
+        when(itemStorage.streamSearchViews())
+                .thenReturn(Stream.of(new ItemSearchView(1L, "Дрель", "Простая дрель", true)));
+
+        itemSearchIndex.rebuild();
+
+        assertEquals(List.of(1L), itemSearchIndex.search("дрель", 0, 10));
+        assertTrue(itemSearchIndex.search("старое", 0, 10).isEmpty());
+    }
+
+    @Test
+    void rebuildKeepsWritesMadeDuringBuildTest() {
+        when(itemStorage.streamSearchViews()).thenAnswer(invocation -> {
+            itemSearchIndex.index(createItem(2L, "Дрель", "Новая дрель", true));
+            itemSearchIndex.index(createItem(1L, "Пила", "Ручная пила", true));
+            return Stream.of(new ItemSearchView(1L, "Дрель", "Простая дрель", true));
+        });
+
+        itemSearchIndex.rebuild();
+
+        assertEquals(List.of(2L), itemSearchIndex.search("дрель", 0, 10));
+        assertEquals(List.of(1L), itemSearchIndex.search("пила", 0, 10));
+    }
+
+    @Test
+    void failedRebuildKeepsCurrentIndexTest() {
+        itemSearchIndex.index(createItem(1L, "Дрель", "Простая дрель", true));
+        when(itemStorage.streamSearchViews()).thenThrow(new IllegalStateException());
+
+        assertThrows(IllegalStateException.class, () -> itemSearchIndex.rebuild());
+        itemSearchIndex.index(createItem(2L, "Пила", "Ручная пила", true));
+
+        assertEquals(List.of(1L), itemSearchIndex.search("дрель", 0, 10));
+        assertEquals(List.of(2L), itemSearchIndex.search("пила", 0, 10));
+    }
+
+    private Item createItem(Long id, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .name(name)
+                .description(description)
+                .available(available)
+                .build();
+    }
+}
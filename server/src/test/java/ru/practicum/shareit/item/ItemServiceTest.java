@@ -1,18 +1,28 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.PlatformTransactionManager;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingStorage;
+import ru.practicum.shareit.booking.archive.ArchivedBookingStorage;
+import ru.practicum.shareit.booking.dto.BookingInterval;
+import ru.practicum.shareit.booking.dto.BookingItemDtoResponse;
 import ru.practicum.shareit.booking.enums.BookingStatus;
+import ru.practicum.shareit.booking.interval.BookingIntervalIndex;
 import ru.practicum.shareit.exception.CommentException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.CommentDtoRequest;
 import ru.practicum.shareit.item.dto.CommentDtoResponse;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDtoResponse;
 import ru.practicum.shareit.item.dto.ItemDtoRequest;
+import ru.practicum.shareit.item.cache.ItemViewCache;
 import ru.practicum.shareit.item.dto.ItemDtoResponse;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.item.storage.CommentStorage;
@@ -22,6 +32,7 @@ import ru.practicum.shareit.request.ItemRequestStorage;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserStorage;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -39,6 +50,8 @@ class ItemServiceTest {
     private CommentStorage commentStorage;
     private BookingStorage bookingStorage;
     private ItemRequestStorage itemRequestStorage;
+    private ItemSearchIndex itemSearchIndex;
+    private ArchivedBookingStorage archivedBookingStorage;
 
     @BeforeEach
     void init() {
@@ -47,8 +60,11 @@ class ItemServiceTest {
         commentStorage = mock(CommentStorage.class);
         bookingStorage = mock(BookingStorage.class);
         itemRequestStorage = mock(ItemRequestStorage.class);
-        itemService = new ItemServiceImpl(
-                itemStorage, userStorage, commentStorage, bookingStorage, itemRequestStorage);
+        itemSearchIndex = new ItemSearchIndex(itemStorage, mock(PlatformTransactionManager.class));
+        archivedBookingStorage = mock(ArchivedBookingStorage.class);
+        itemService = new ItemServiceImpl(itemStorage, userStorage, commentStorage, bookingStorage,
+                itemRequestStorage, itemSearchIndex, new ItemViewCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)),
+                new BookingIntervalIndex(bookingStorage, 100), archivedBookingStorage);
     }
 
     @Test
@@ -98,10 +114,10 @@ class ItemServiceTest {
                 .thenReturn(Optional.of(createItem()));
         when(commentStorage.findAllByItemId(anyLong()))
                 .thenReturn(List.of(createComment()));
-        when(bookingStorage.getLastBooking(any(LocalDateTime.class), anyLong(), anyLong()))
-                .thenReturn(List.of(createBooking()));
-        when(bookingStorage.getNextBooking(any(LocalDateTime.class), anyLong(), anyLong()))
-                .thenReturn(List.of(createBooking()));
+        when(bookingStorage.getLastBooking(any(LocalDateTime.class), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(createBookingItem()));
+        when(bookingStorage.getNextBooking(any(LocalDateTime.class), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(createBookingItem()));
 
         ItemDtoResponse result = itemService.getItem(1L, 1L);
         assertNotNull(result);
@@ -110,6 +126,25 @@ class ItemServiceTest {
         assertEquals(1L, result.getId());
     }
 
+    @Test
+    void getItemTest_Cached() {
+        when(userStorage.existsUserById(anyLong()))
+                .thenReturn(true);
+        when(itemStorage.findById(anyLong()))
+                .thenReturn(Optional.of(createItem()));
+        when(commentStorage.findAllByItemId(anyLong()))
+                .thenReturn(List.of(createComment()));
+
+        ItemDtoResponse first = itemService.getItem(1L, 2L);
+        ItemDtoResponse second = itemService.getItem(1L, 2L);
+
+        assertSame(first, second);
+        verify(itemStorage, times(1)).findById(anyLong());
+        verify(commentStorage, times(1)).findAllByItemId(anyLong());
+        verify(bookingStorage, never()).getLastBooking(
+                any(LocalDateTime.class), anyLong(), anyLong(), any(Pageable.class));
+    }
+
     @Test
     void getItemTest_throw() {
         when(userStorage.existsUserById(anyLong()))
@@ -154,10 +189,10 @@ class ItemServiceTest {
                 .thenReturn(Optional.of(createItem()));
         when(commentStorage.findAllByItemId(anyLong()))
                 .thenReturn(List.of(createComment()));
-        when(bookingStorage.getLastBooking(any(LocalDateTime.class), anyLong(), anyLong()))
-                .thenReturn(List.of(createBooking()));
-        when(bookingStorage.getNextBooking(any(LocalDateTime.class), anyLong(), anyLong()))
-                .thenReturn(List.of(createBooking()));
+        when(bookingStorage.getLastBooking(any(LocalDateTime.class), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(createBookingItem()));
+        when(bookingStorage.getNextBooking(any(LocalDateTime.class), anyLong(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(createBookingItem()));
 
         ItemDtoResponse result = itemService.getItem(1L, 2L);
         assertNotNull(result);
@@ -171,27 +206,45 @@ class ItemServiceTest {
         when(userStorage.existsUserById(anyLong()))
                 .thenReturn(true);
         when(itemStorage.findAllByOwnerId(anyLong(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(createItem())));
-        when(commentStorage.findAllByItemId(anyLong()))
+                .thenReturn(new SliceImpl<>(List.of(createItem())));
+        when(commentStorage.findAllByItemIdIn(anyCollection()))
                 .thenReturn(List.of(createComment()));
-        when(bookingStorage.getLastBooking(any(LocalDateTime.class), anyLong(), anyLong()))
+        when(bookingStorage.getLastBookings(anyCollection(), any(LocalDateTime.class)))
                 .thenReturn(List.of(createBooking()));
-        when(bookingStorage.getNextBooking(any(LocalDateTime.class), anyLong(), anyLong()))
+        when(bookingStorage.getNextBookings(anyCollection(), any(LocalDateTime.class)))
                 .thenReturn(List.of(createBooking()));
 
         List<ItemDtoResponse> result = itemService.getOwnItems(1L, 1, 1);
         assertNotNull(result);
         assertEquals(1L, result.get(0).getId());
+        assertEquals(1, result.get(0).getComments().size());
+        assertNotNull(result.get(0).getLastBooking());
+        assertNotNull(result.get(0).getNextBooking());
+        verify(commentStorage, never()).findAllByItemId(anyLong());
+    }
+
+    @Test
+    void getOwnItemsTest_Empty() {
+        when(userStorage.existsUserById(anyLong()))
+                .thenReturn(true);
+        when(itemStorage.findAllByOwnerId(anyLong(), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(new ArrayList<>()));
+
+        List<ItemDtoResponse> result = itemService.getOwnItems(1L, 0, 10);
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+        verify(bookingStorage, never()).getLastBookings(anyCollection(), any(LocalDateTime.class));
     }
 
     @Test
     void searchItemsTest() {
         when(userStorage.existsUserById(anyLong()))
                 .thenReturn(true);
-        when(itemStorage.itemsSearch(anyString(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(createItem())));
+        when(itemStorage.findAllById(anyIterable()))
+                .thenReturn(List.of(createItem()));
+        itemSearchIndex.index(createItem());
 
-        List<ItemDtoResponse> result = itemService.searchItems("descr", 1L, 1, 1);
+        List<ItemDtoResponse> result = itemService.searchItems("descr", 1L, 0, 1);
         assertNotNull(result);
         assertEquals(1, result.get(0).getId());
     }
@@ -206,6 +259,41 @@ class ItemServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void getAvailabilityTest() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(userStorage.existsUserById(anyLong()))
+                .thenReturn(true);
+        when(itemStorage.findById(anyLong()))
+                .thenReturn(Optional.of(createItem()));
+        when(bookingStorage.findIntervalsByItemId(anyLong(), anyCollection()))
+                .thenReturn(List.of(
+                        new BookingInterval(1L, from.minusHours(1), from.plusHours(2)),
+                        new BookingInterval(2L, from.plusHours(4), from.plusHours(5)),
+                        new BookingInterval(3L, from.plusHours(5), from.plusHours(6)),
+                        new BookingInterval(4L, from.plusHours(30), from.plusHours(31))));
+
+        ItemAvailabilityDtoResponse result = itemService.getAvailability(1L, from, from.plusDays(1), 2L);
+
+        assertEquals(2, result.getFreeSlots().size());
+        assertEquals(from.plusHours(2), result.getFreeSlots().get(0).getStart());
+        assertEquals(from.plusHours(4), result.getFreeSlots().get(0).getEnd());
+        assertEquals(from.plusHours(6), result.getFreeSlots().get(1).getStart());
+        assertEquals(from.plusDays(1), result.getFreeSlots().get(1).getEnd());
+    }
+
+    @Test
+    void getAvailabilityTest_ThrowWrongPeriod() {
+        LocalDateTime from = LocalDateTime.now();
+        when(userStorage.existsUserById(anyLong()))
+                .thenReturn(true);
+
+        Throwable exception = assertThrows(ValidationException.class,
+                () -> itemService.getAvailability(1L, from, from, 2L)
+        );
+        assertEquals("Начало периода должно быть раньше окончания", exception.getMessage());
+    }
+
     @Test
     void createCommentTest() {
         when(userStorage.findById(anyLong()))
@@ -272,12 +360,17 @@ class ItemServiceTest {
         return new CommentDtoRequest("text");
     }
 
+    private BookingItemDtoResponse createBookingItem() {
+        return new BookingItemDtoResponse(1L, 1L, LocalDateTime.now(), LocalDateTime.now());
+    }
+
     private Booking createBooking() {
         return new Booking(1L,
                 LocalDateTime.now(),
                 LocalDateTime.now(),
                 createItem(),
                 createUser(),
-                BookingStatus.APPROVED);
+                BookingStatus.APPROVED,
+                0L);
     }
 }
\ No newline at end of file
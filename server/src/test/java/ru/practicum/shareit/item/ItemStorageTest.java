@@ -4,13 +4,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.item.storage.ItemStorage;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestStorage;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserStorage;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
@@ -24,6 +29,9 @@ class ItemStorageTest {
     @Autowired
     private UserStorage userStorage;
 
+    @Autowired
+    private ItemRequestStorage itemRequestStorage;
+
     private User owner;
     private Item item;
 
@@ -47,7 +55,7 @@ class ItemStorageTest {
 
     @Test
     void findAllByOwnerIdTest() {
-        Page<Item> result = itemStorage.findAllByOwnerId(owner.getId(), Pageable.unpaged());
+        Slice<Item> result = itemStorage.findAllByOwnerId(owner.getId(), Pageable.unpaged());
 
         assertNotNull(result);
         assertEquals(1, result.getSize());
@@ -55,11 +63,24 @@ class ItemStorageTest {
     }
 
     @Test
-    void itemSearchTest() {
-        Page<Item> result = itemStorage.itemsSearch("eS", Pageable.unpaged());
+    void findAllByRequestIdInTest() {
+        ItemRequest request = itemRequestStorage.save(ItemRequest.builder()
+                .description("need item")
+                .requestor(owner)
+                .created(LocalDateTime.now())
+                .build());
+        Item answer = itemStorage.save(Item.builder()
+                .name("Answer")
+                .description("descr")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build());
+
+        List<Item> result = itemStorage.findAllByRequestIdIn(List.of(request.getId()));
 
         assertNotNull(result);
-        assertEquals(1, result.getSize());
-        assertEquals(item, result.getContent().get(0));
+        assertEquals(1, result.size());
+        assertEquals(answer, result.get(0));
     }
 }
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingItemDtoResponse;
+import ru.practicum.shareit.item.cache.ItemViewCache;
+import ru.practicum.shareit.item.dto.ItemDtoResponse;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemViewCacheTest {
+    private static final Long OWNER_ID = 1L;
+    private static final Long USER_ID = 2L;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ItemViewCache itemViewCache;
+
+    @BeforeEach
+    void init() {
+        meterRegistry = new SimpleMeterRegistry();
+        itemViewCache = new ItemViewCache(meterRegistry, 100, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void ownerAndPublicViewsTest() {
+        ItemDtoResponse publicView = createView(null);
+        ItemDtoResponse ownerView = createView(createBooking(LocalDateTime.now().plusDays(1)));
+
+        itemViewCache.put(OWNER_ID, publicView, false, itemViewCache.version());
+        assertNull(itemViewCache.get(1L, OWNER_ID));
+        assertSame(publicView, itemViewCache.get(1L, USER_ID));
+
+        itemViewCache.put(OWNER_ID, ownerView, true, itemViewCache.version());
+        assertSame(ownerView, itemViewCache.get(1L, OWNER_ID));
+        assertSame(publicView, itemViewCache.get(1L, USER_ID));
+        assertEquals(3.0, meterRegistry.get("cache.gets")
+                .tag("cache", "itemViews")
+                .tag("view", "public")
+                .tag("result", "hit")
+                .functionCounter()
+                .count());
+    }
+
+    @Test
+    void ownerViewNotCachedPastNextBookingTest() {
+        itemViewCache.put(OWNER_ID, createView(createBooking(LocalDateTime.now().minusSeconds(1))),
+                true, itemViewCache.version());
+
+        assertNull(itemViewCache.get(1L, OWNER_ID));
+    }
+
+    @Test
+    void invalidateTest() {
+        itemViewCache.put(OWNER_ID, createView(null), false, itemViewCache.version());
+        itemViewCache.put(OWNER_ID, createView(null), true, itemViewCache.version());
+
+        itemViewCache.invalidate(1L);
+
+        assertNull(itemViewCache.get(1L, OWNER_ID));
+        assertNull(itemViewCache.get(1L, USER_ID));
+    }
+
+    @Test
+    void stalePutIgnoredTest() {
+        long version = itemViewCache.version();
+        itemViewCache.invalidate(1L);
+
+        itemViewCache.put(OWNER_ID, createView(null), false, version);
+
+        assertNull(itemViewCache.get(1L, USER_ID));
+    }
+
+    private ItemDtoResponse createView(BookingItemDtoResponse nextBooking) {
+        return new ItemDtoResponse(1L, "name", "descr", true, null, nextBooking, new ArrayList<>(), null);
+    }
+
+    private BookingItemDtoResponse createBooking(LocalDateTime start) {
+        return new BookingItemDtoResponse(1L, USER_ID, start, start.plusDays(1));
+    }
+}
@@ -2,8 +2,8 @@ package ru.practicum.shareit.request;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.storage.ItemStorage;
@@ -61,7 +61,7 @@ class ItemRequestServiceTest {
                 .thenReturn(true);
         when(itemRequestStorage.findAllByRequestorIdOrderByCreatedDesc(anyLong()))
                 .thenReturn(requests);
-        when(itemStorage.findAllByRequestId(anyLong()))
+        when(itemStorage.findAllByRequestIdIn(anyCollection()))
                 .thenReturn(List.of(createItem()));
 
         List<ItemRequestDtoWItemResponse> result = itemRequestService.findByUserId(1L);
@@ -69,6 +69,8 @@ class ItemRequestServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals(requests.get(0).getId(), result.get(0).getId());
+        assertEquals(1, result.get(0).getItems().size());
+        verify(itemStorage, never()).findAllByRequestId(anyLong());
     }
 
     @Test
@@ -76,14 +78,16 @@ class ItemRequestServiceTest {
         when(userStorage.existsUserById(anyLong()))
                 .thenReturn(true);
         when(itemRequestStorage.findAllOtherRequests(anyLong(), any(Pageable.class)))
-                .thenReturn(new PageImpl<>(List.of(createItemRequest())));
-        when(itemStorage.findAllByRequestId(anyLong()))
+                .thenReturn(new SliceImpl<>(List.of(createItemRequest())));
+        when(itemStorage.findAllByRequestIdIn(anyCollection()))
                 .thenReturn(List.of(createItem()));
 
         List<ItemRequestDtoWItemResponse> result = itemRequestService.findFromAll(1, 1, 1L);
 
         assertNotNull(result);
         assertEquals(1, result.size());
+        assertEquals(1, result.get(0).getItems().size());
+        verify(itemStorage, times(1)).findAllByRequestIdIn(anyCollection());
     }
 
     @Test
@@ -4,8 +4,8 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserStorage;
@@ -55,7 +55,7 @@ class ItemRequestStorageTest {
 
     @Test
     void findAllOtherRequestsTest() {
-        Page<ItemRequest> result = itemRequestStorage.findAllOtherRequests(
+        Slice<ItemRequest> result = itemRequestStorage.findAllOtherRequests(
                 requestor.getId(), Pageable.unpaged());
 
         assertNotNull(result);
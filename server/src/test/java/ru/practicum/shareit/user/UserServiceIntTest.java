@@ -1,10 +1,17 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.UserDtoRequest;
 import ru.practicum.shareit.user.dto.UserDtoResponse;
@@ -24,6 +31,70 @@ class UserServiceIntTest {
     private EntityManager em;
     @Autowired
     private UserService service;
+    @Autowired
+    private UserStorage userStorage;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void userExistsCacheTest() {
+        UserDtoResponse user = service.createUser(new UserDtoRequest(null, "name", "mail@mail.ru"));
+        Cache cache = cacheManager.getCache(UserStorage.USER_EXISTS_CACHE);
+
+        assertFalse(userStorage.existsUserById(user.getId() + 1));
+        assertNull(cache.get(user.getId() + 1));
+        assertTrue(userStorage.existsUserById(user.getId()));
+        assertTrue(userStorage.existsUserById(user.getId()));
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+                .tag("cache", UserStorage.USER_EXISTS_CACHE)
+                .tag("result", "hit")
+                .functionCounter()
+                .count());
+        assertNotNull(cache.get(user.getId()));
+
+        service.deleteUser(user.getId());
+
+        assertNull(cache.get(user.getId()));
+        assertFalse(userStorage.existsUserById(user.getId()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void deletedUserIsNotFoundOnNextCallTest() {
+        UserDtoResponse user = service.createUser(new UserDtoRequest(null, "name", "mail@mail.ru"));
+        assertTrue(bookingService.getOwnBookings(BookingState.ALL, user.getId(), 0, 10).isEmpty());
+        assertNotNull(cacheManager.getCache(UserStorage.USER_EXISTS_CACHE).get(user.getId()));
+
+        service.deleteUser(user.getId());
+
+        Throwable exception = assertThrows(
+                NotFoundException.class,
+                () -> bookingService.getOwnBookings(BookingState.ALL, user.getId(), 0, 10)
+        );
+        assertEquals(String.format("Пользователь с ID %s не существует", user.getId()), exception.getMessage());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void deleteRolledBackKeepsCachedUserTest() {
+        UserDtoResponse user = service.createUser(new UserDtoRequest(null, "name", "mail@mail.ru"));
+        assertTrue(userStorage.existsUserById(user.getId()));
+
+        assertThrows(IllegalStateException.class, () -> transactionTemplate.executeWithoutResult(status -> {
+            service.deleteUser(user.getId());
+            throw new IllegalStateException();
+        }));
+
+        assertNotNull(cacheManager.getCache(UserStorage.USER_EXISTS_CACHE).get(user.getId()));
+        assertNotNull(service.getUser(user.getId()));
+    }
 
     @Test
     void createUserTest() {
@@ -0,0 +1,2 @@
+INSERT INTO users (user_id, user_name, email) VALUES (1, 'owner', 'owner@mail.ru'), (2, 'booker', 'booker@mail.ru');
+INSERT INTO items (item_id, item_name, description, is_available, owner_id) VALUES (1, 'item', 'descr', TRUE, 1);